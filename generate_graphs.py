@@ -8,6 +8,7 @@ import matplotlib.pyplot as plt
 import pandas as pd
 import numpy as np
 import os
+import sys
 
 # Set style
 plt.style.use('seaborn-v0_8-darkgrid')
@@ -202,9 +203,9 @@ def plot_component_breakdown(df, output_dir):
     plt.close()
 
 def main():
-    # Paths
-    csv_path = '/home/claude/suffix-array-project/docs/benchmark_results.csv'
-    output_dir = '/home/claude/suffix-array-project/docs'
+    # Paths: generate_graphs.py [results.csv] [engine]
+    csv_path = sys.argv[1] if len(sys.argv) > 1 else 'docs/benchmark_results.csv'
+    output_dir = os.path.dirname(csv_path) or '.'
     
     # Check if benchmark data exists
     if not os.path.exists(csv_path):
@@ -216,6 +217,12 @@ def main():
     print("Loading benchmark data...")
     df = load_data(csv_path)
     
+    # Results from several engines: plot one series
+    if 'Engine' in df.columns:
+        engine = sys.argv[2] if len(sys.argv) > 2 else df['Engine'].iloc[0]
+        print(f"Plotting engine: {engine}")
+        df = df[df['Engine'] == engine].reset_index(drop=True)
+    
     # Generate all plots
     print("\nGenerating plots...")
     plot_overall_complexity(df, output_dir)
@@ -0,0 +1,42 @@
+package com.stringalgo;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Suffix array construction per engine, size and text family.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConstructionBenchmark {
+    
+    @Param({"10000", "100000", "1000000"})
+    int size;
+    
+    @Param({"RANDOM_4", "RANDOM_26", "FIBONACCI", "PERIODIC_4", "PERIODIC_26",
+            "NATURAL", "DNA", "UNARY", "DE_BRUIJN_4", "DE_BRUIJN_26", "THUE_MORSE"})
+    TextFamily family;
+    
+    @Param
+    EngineChoice engine;
+    
+    String text;
+    SuffixArrayEngine suffixArrayEngine;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        text = family.generate(size);
+        suffixArrayEngine = engine.create();
+    }
+    
+    @Benchmark
+    public int[] buildSuffixArray() {
+        SuffixArray sa = new SuffixArray(text, suffixArrayEngine);
+        sa.buildSuffixArray();
+        return sa.getSuffixArray();
+    }
+}
@@ -0,0 +1,35 @@
+package com.stringalgo;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Construction engines the benchmarks are parameterized over.
+ */
+public enum EngineChoice {
+    PREFIX_DOUBLING {
+        @Override
+        SuffixArrayEngine create() {
+            return new PrefixDoublingEngine();
+        }
+    },
+    SAIS {
+        @Override
+        SuffixArrayEngine create() {
+            return new SaisEngine();
+        }
+    },
+    RADIX_DOUBLING {
+        @Override
+        SuffixArrayEngine create() {
+            return new RadixDoublingEngine();
+        }
+    },
+    PARALLEL_DOUBLING {
+        @Override
+        SuffixArrayEngine create() {
+            return new ParallelDoublingEngine(ForkJoinPool.commonPool());
+        }
+    };
+    
+    abstract SuffixArrayEngine create();
+}
@@ -0,0 +1,43 @@
+package com.stringalgo;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * LCP construction over a prebuilt suffix array, per builder.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LcpBenchmark {
+    
+    @Param({"10000", "100000", "1000000"})
+    int size;
+    
+    @Param({"RANDOM_4", "RANDOM_26", "FIBONACCI", "PERIODIC_4", "PERIODIC_26",
+            "NATURAL", "DNA", "UNARY", "DE_BRUIJN_4", "DE_BRUIJN_26", "THUE_MORSE"})
+    TextFamily family;
+    
+    @Param({"KASAI", "PHI"})
+    String builder;
+    
+    SuffixArray sa;
+    LcpBuilder lcpBuilder;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        sa = new SuffixArray(family.generate(size), new SaisEngine());
+        sa.buildSuffixArray();
+        // Builders that keep the rank buffer intact can be rerun on one instance
+        lcpBuilder = builder.equals("PHI") ? new PhiLcpBuilder() : new KasaiLcpBuilder();
+    }
+    
+    @Benchmark
+    public int[] buildLCP() {
+        sa.buildLCP(lcpBuilder);
+        return sa.getLCP();
+    }
+}
@@ -0,0 +1,101 @@
+package com.stringalgo;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Queries against a fully built index: pattern search and counting, and
+ * the LCP scans behind distinct substrings and the longest repeat.
+ * 
+ * Each search call takes the next of 1024 pre-drawn patterns, half of
+ * them substrings of the text and half random strings over the text's
+ * own characters, so a measurement averages over many queries instead of
+ * timing a single call.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QueryBenchmark {
+    
+    private static final int PATTERNS = 1024;
+    
+    @Param({"10000", "100000", "1000000"})
+    int size;
+    
+    @Param({"RANDOM_4", "RANDOM_26", "FIBONACCI", "PERIODIC_4", "PERIODIC_26",
+            "NATURAL", "DNA", "UNARY", "DE_BRUIJN_4", "DE_BRUIJN_26", "THUE_MORSE"})
+    TextFamily family;
+    
+    @Param({"8", "32"})
+    int patternLength;
+    
+    @Param({"false", "true"})
+    boolean lcpLR;
+    
+    SuffixArray sa;
+    String[] patterns;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        String text = family.generate(size);
+        sa = new SuffixArray(text, new SaisEngine());
+        sa.buildSuffixArray();
+        sa.buildLCP();
+        if (lcpLR) {
+            sa.buildLcpLR();
+        }
+        
+        Random rand = new Random(TextFamily.SEED);
+        patterns = new String[PATTERNS];
+        for (int i = 0; i < PATTERNS; i++) {
+            if (i % 2 == 0) {
+                int start = rand.nextInt(text.length() - patternLength);
+                patterns[i] = text.substring(start, start + patternLength);
+            } else {
+                // Characters sampled from the text, so the pattern uses its
+                // alphabet and with it can mismatch late rather than at once
+                char[] pattern = new char[patternLength];
+                for (int k = 0; k < patternLength; k++) {
+                    pattern[k] = text.charAt(rand.nextInt(text.length()));
+                }
+                patterns[i] = new String(pattern);
+            }
+        }
+    }
+    
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+        
+        String nextPattern(String[] patterns) {
+            next = (next + 1) & (PATTERNS - 1);
+            return patterns[next];
+        }
+    }
+    
+    @Benchmark
+    public int search(Cursor cursor) {
+        return sa.search(cursor.nextPattern(patterns));
+    }
+    
+    @Benchmark
+    public int count(Cursor cursor) {
+        return sa.count(cursor.nextPattern(patterns));
+    }
+    
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long countDistinctSubstrings() {
+        return sa.countDistinctSubstrings();
+    }
+    
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public String longestRepeatedSubstring() {
+        return sa.longestRepeatedSubstring();
+    }
+}
@@ -0,0 +1,112 @@
+package com.stringalgo;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+
+/**
+ * Text families the benchmarks are parameterized over.
+ * 
+ * Families built over a chosen alphabet carry its size in their name, so
+ * the other families are not run once per alphabet with the same text.
+ * 
+ * FILE reads the first size bytes of the file named by the corpus.file
+ * system property, e.g. a Pizza&Chili text:
+ * -p family=FILE -jvmArgsAppend -Dcorpus.file=/data/pizza/english.50MB
+ */
+public enum TextFamily {
+    RANDOM_4(4) {
+        @Override
+        String generate(int size) {
+            return TextGenerator.random(size, alphabetSize, SEED);
+        }
+    },
+    RANDOM_26(26) {
+        @Override
+        String generate(int size) {
+            return TextGenerator.random(size, alphabetSize, SEED);
+        }
+    },
+    FIBONACCI(0) {
+        @Override
+        String generate(int size) {
+            return TextGenerator.fibonacci(size);
+        }
+    },
+    PERIODIC_4(4) {
+        @Override
+        String generate(int size) {
+            return TextGenerator.periodic(size, 64, alphabetSize, SEED);
+        }
+    },
+    PERIODIC_26(26) {
+        @Override
+        String generate(int size) {
+            return TextGenerator.periodic(size, 64, alphabetSize, SEED);
+        }
+    },
+    NATURAL(0) {
+        @Override
+        String generate(int size) {
+            return TextGenerator.naturalLanguage(size, SEED);
+        }
+    },
+    DNA(0) {
+        @Override
+        String generate(int size) {
+            return TextGenerator.dna(size, SEED);
+        }
+    },
+    UNARY(0) {
+        @Override
+        String generate(int size) {
+            return TextGenerator.unary(size, 'a');
+        }
+    },
+    DE_BRUIJN_4(4) {
+        @Override
+        String generate(int size) {
+            return TextGenerator.deBruijn(size, alphabetSize);
+        }
+    },
+    DE_BRUIJN_26(26) {
+        @Override
+        String generate(int size) {
+            return TextGenerator.deBruijn(size, alphabetSize);
+        }
+    },
+    THUE_MORSE(0) {
+        @Override
+        String generate(int size) {
+            return TextGenerator.thueMorse(size);
+        }
+    },
+    FILE(0) {
+        @Override
+        String generate(int size) {
+            String file = System.getProperty("corpus.file");
+            if (file == null) {
+                throw new IllegalStateException("Set -Dcorpus.file to use the FILE family");
+            }
+            try {
+                return BenchmarkCorpus.loadPrefix(Paths.get(file), size);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    };
+    
+    static final long SEED = 42;
+    
+    /** Alphabet size of the generated text, or 0 if the family fixes its own. */
+    final int alphabetSize;
+    
+    TextFamily(int alphabetSize) {
+        this.alphabetSize = alphabetSize;
+    }
+    
+    /**
+     * @param size number of characters
+     */
+    abstract String generate(int size);
+}
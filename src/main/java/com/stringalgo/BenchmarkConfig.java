@@ -0,0 +1,149 @@
+package com.stringalgo;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Command-line options of {@link PerformanceBenchmark}.
+ * 
+ * Options take the form --name value or --name=value; list values are
+ * comma-separated. Unknown options and malformed values are rejected
+ * with an IllegalArgumentException naming the option.
+ */
+final class BenchmarkConfig {
+    
+    static final String USAGE = String.join(System.lineSeparator(),
+        "Usage: PerformanceBenchmark [options]",
+        "  --output-dir DIR      where results are written (default: docs)",
+        "  --sizes N,N,...       input sizes of the size sweep",
+        "  --repetitions N       measured runs per case; the median is reported (default: 1)",
+        "  --engines E,E,...     engines to run: " + String.join(", ", PerformanceBenchmark.ENGINE_NAMES),
+        "  --formats F,F,...     result formats: csv, json (default: csv)",
+        "  --corpus DIR          also sweep the files in DIR (e.g. Pizza&Chili texts)",
+        "  --corpus-size N       characters per corpus text (default: 50000)",
+        "  --baseline FILE       JSON results of an earlier run to compare against",
+        "  --threshold X         slowdown that counts as a regression (default: 0.10 = 10%)",
+        "  --memory-threshold X  bytes/char growth that counts as a regression (default: 0.01 = 1%)",
+        "  --help                print this message");
+    
+    Path outputDir = Paths.get("docs");
+    int[] sizes = {10, 50, 100, 200, 500, 1000, 2000, 3000, 5000, 
+                   7500, 10000, 15000, 20000, 25000, 30000};
+    int repetitions = 1;
+    List<String> engines = new ArrayList<>(Arrays.asList(PerformanceBenchmark.ENGINE_NAMES));
+    Set<String> formats = new LinkedHashSet<>(List.of("csv"));
+    Path corpusDir;
+    int corpusSize = 50_000;
+    Path baseline;
+    double threshold = 0.10;
+    double memoryThreshold = 0.01;
+    boolean help;
+    
+    /**
+     * @param args the command-line arguments
+     * @return the parsed configuration
+     * @throws IllegalArgumentException on an unknown option or bad value
+     */
+    static BenchmarkConfig parse(String[] args) {
+        BenchmarkConfig config = new BenchmarkConfig();
+        for (int i = 0; i < args.length; i++) {
+            String name = args[i];
+            String value = null;
+            int eq = name.indexOf('=');
+            if (eq >= 0) {
+                value = name.substring(eq + 1);
+                name = name.substring(0, eq);
+            }
+            if (name.equals("--help")) {
+                config.help = true;
+                continue;
+            }
+            if (value == null) {
+                if (i + 1 == args.length) {
+                    throw new IllegalArgumentException("Missing value for " + name);
+                }
+                value = args[++i];
+            }
+            config.set(name, value);
+        }
+        return config;
+    }
+    
+    private void set(String name, String value) {
+        try {
+            switch (name) {
+                case "--output-dir":
+                    outputDir = Paths.get(value);
+                    break;
+                case "--sizes":
+                    sizes = Arrays.stream(value.split(",")).map(String::trim)
+                        .mapToInt(Integer::parseInt).toArray();
+                    for (int size : sizes) {
+                        requirePositive(name, size);
+                    }
+                    break;
+                case "--repetitions":
+                    repetitions = requirePositive(name, Integer.parseInt(value));
+                    break;
+                case "--engines":
+                    engines = new ArrayList<>();
+                    for (String engine : value.split(",")) {
+                        engine = engine.trim();
+                        if (!Arrays.asList(PerformanceBenchmark.ENGINE_NAMES).contains(engine)) {
+                            throw new IllegalArgumentException("Unknown engine for --engines: " + engine);
+                        }
+                        engines.add(engine);
+                    }
+                    break;
+                case "--formats":
+                    formats = new LinkedHashSet<>();
+                    for (String format : value.split(",")) {
+                        format = format.trim().toLowerCase();
+                        if (!format.equals("csv") && !format.equals("json")) {
+                            throw new IllegalArgumentException("Unknown format for --formats: " + format);
+                        }
+                        formats.add(format);
+                    }
+                    break;
+                case "--corpus":
+                    corpusDir = Paths.get(value);
+                    break;
+                case "--corpus-size":
+                    corpusSize = requirePositive(name, Integer.parseInt(value));
+                    break;
+                case "--baseline":
+                    baseline = Paths.get(value);
+                    break;
+                case "--threshold":
+                    threshold = requireNonNegative(name, Double.parseDouble(value));
+                    break;
+                case "--memory-threshold":
+                    memoryThreshold = requireNonNegative(name, Double.parseDouble(value));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + name);
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Bad number for " + name + ": " + value);
+        }
+    }
+    
+    private static double requireNonNegative(String name, double value) {
+        if (!(value >= 0)) {
+            throw new IllegalArgumentException(name + " must be non-negative: " + value);
+        }
+        return value;
+    }
+    
+    private static int requirePositive(String name, int value) {
+        if (value <= 0) {
+            throw new IllegalArgumentException(name + " must be positive: " + value);
+        }
+        return value;
+    }
+}
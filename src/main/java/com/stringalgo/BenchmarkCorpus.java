@@ -0,0 +1,94 @@
+package com.stringalgo;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Named benchmark inputs: synthetic texts covering the easy, adversarial
+ * and long-LCP regimes, plus real-world files such as the Pizza&Chili
+ * corpus (dna, english, proteins, sources, xml, ...).
+ */
+public final class BenchmarkCorpus {
+    
+    private static final long SEED = 42;
+    
+    private BenchmarkCorpus() {
+    }
+    
+    /**
+     * @param size number of characters in each text
+     * @return one text per synthetic family, in a fixed order
+     */
+    public static List<Entry> synthetic(int size) {
+        List<Entry> entries = new ArrayList<>();
+        entries.add(new Entry("random-26", TextGenerator.random(size, 26, SEED)));
+        entries.add(new Entry("random-4", TextGenerator.random(size, 4, SEED)));
+        entries.add(new Entry("natural", TextGenerator.naturalLanguage(size, SEED)));
+        entries.add(new Entry("dna", TextGenerator.dna(size, SEED)));
+        entries.add(new Entry("de-bruijn-4", TextGenerator.deBruijn(size, 4)));
+        entries.add(new Entry("thue-morse", TextGenerator.thueMorse(size)));
+        entries.add(new Entry("fibonacci", TextGenerator.fibonacci(size)));
+        entries.add(new Entry("periodic-64", TextGenerator.periodic(size, 64, 26, SEED)));
+        entries.add(new Entry("unary", TextGenerator.unary(size, 'a')));
+        return entries;
+    }
+    
+    /**
+     * Loads every regular file in a directory, e.g. the downloaded
+     * Pizza&Chili texts, as one byte per character (ISO-8859-1), keeping
+     * at most maxSize characters of each. Files are read in name order.
+     * 
+     * @param directory directory holding the corpus files
+     * @param maxSize prefix length to keep from each file
+     * @return one entry per file, named after the file
+     * @throws IOException if the directory or a file cannot be read
+     */
+    public static List<Entry> load(Path directory, int maxSize) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path file : stream) {
+                if (Files.isRegularFile(file)) {
+                    files.add(file);
+                }
+            }
+        }
+        files.sort(null);
+        
+        List<Entry> entries = new ArrayList<>();
+        for (Path file : files) {
+            entries.add(new Entry(file.getFileName().toString(), loadPrefix(file, maxSize)));
+        }
+        return entries;
+    }
+    
+    /**
+     * @param file the file to read
+     * @param maxSize number of leading bytes to keep
+     * @return up to maxSize bytes of the file as ISO-8859-1 text
+     * @throws IOException if the file cannot be read
+     */
+    public static String loadPrefix(Path file, int maxSize) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return new String(in.readNBytes(maxSize), StandardCharsets.ISO_8859_1);
+        }
+    }
+    
+    /**
+     * A benchmark text and the name it is reported under.
+     */
+    public static final class Entry {
+        public final String name;
+        public final String text;
+        
+        public Entry(String name, String text) {
+            this.name = name;
+            this.text = text;
+        }
+    }
+}
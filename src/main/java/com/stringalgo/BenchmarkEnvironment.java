@@ -0,0 +1,54 @@
+package com.stringalgo;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The JVM and machine a benchmark ran on, recorded with every result so
+ * runs from different hosts or JVM settings are not compared blindly.
+ */
+final class BenchmarkEnvironment {
+    
+    final String jvm;
+    final String gc;
+    final long maxHeapBytes;
+    final int cores;
+    
+    private BenchmarkEnvironment(String jvm, String gc, long maxHeapBytes, int cores) {
+        this.jvm = jvm;
+        this.gc = gc;
+        this.maxHeapBytes = maxHeapBytes;
+        this.cores = cores;
+    }
+    
+    /**
+     * @return the environment of the running JVM
+     */
+    static BenchmarkEnvironment current() {
+        List<String> collectors = new ArrayList<>();
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            collectors.add(bean.getName());
+        }
+        return new BenchmarkEnvironment(
+            System.getProperty("java.version") + " (" + System.getProperty("java.vm.name") + ")",
+            String.join(" + ", collectors),
+            Runtime.getRuntime().maxMemory(),
+            Runtime.getRuntime().availableProcessors());
+    }
+    
+    /**
+     * @return the environment as result columns
+     */
+    Map<String, Object> toRow() {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("JVM", jvm);
+        row.put("GC", gc);
+        row.put("MaxHeap(MB)", maxHeapBytes / (1024 * 1024));
+        row.put("Cores", cores);
+        return row;
+    }
+}
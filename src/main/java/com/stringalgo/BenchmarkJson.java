@@ -0,0 +1,250 @@
+package com.stringalgo;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Minimal JSON writer and reader for benchmark results, so results can be
+ * stored and compared across runs without a JSON library dependency.
+ * 
+ * Results are written as an object mapping section names to arrays of
+ * flat row objects. The reader accepts any JSON value and returns Maps,
+ * Lists, Strings, Doubles, Booleans and nulls.
+ */
+final class BenchmarkJson {
+    
+    private BenchmarkJson() {
+    }
+    
+    /**
+     * @param sections section name to rows, each row mapping column names
+     *                 to String or Number values; non-finite numbers
+     *                 are written as null
+     * @return the sections as a JSON document
+     */
+    static String write(Map<String, List<Map<String, Object>>> sections) {
+        StringBuilder sb = new StringBuilder("{\n");
+        int s = 0;
+        for (Map.Entry<String, List<Map<String, Object>>> section : sections.entrySet()) {
+            sb.append("  ").append(quote(section.getKey())).append(": [");
+            List<Map<String, Object>> rows = section.getValue();
+            for (int r = 0; r < rows.size(); r++) {
+                sb.append(r == 0 ? "\n    {" : ",\n    {");
+                int c = 0;
+                for (Map.Entry<String, Object> column : rows.get(r).entrySet()) {
+                    if (c++ > 0) {
+                        sb.append(", ");
+                    }
+                    sb.append(quote(column.getKey())).append(": ").append(value(column.getValue()));
+                }
+                sb.append('}');
+            }
+            sb.append(rows.isEmpty() ? "]" : "\n  ]");
+            sb.append(++s < sections.size() ? ",\n" : "\n");
+        }
+        return sb.append("}\n").toString();
+    }
+    
+    private static String value(Object v) {
+        if (v == null) {
+            return "null";
+        }
+        if (v instanceof Double || v instanceof Float) {
+            double d = ((Number) v).doubleValue();
+            // JSON has no NaN or Infinity, e.g. a per-char metric of an empty text
+            return Double.isFinite(d) ? String.format(Locale.ROOT, "%.6f", d) : "null";
+        }
+        if (v instanceof Number || v instanceof Boolean) {
+            return v.toString();
+        }
+        return quote(v.toString());
+    }
+    
+    private static String quote(String s) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        return sb.append('"').toString();
+    }
+    
+    /**
+     * @param json a JSON document
+     * @return the parsed value
+     * @throws IllegalArgumentException if the document is malformed
+     */
+    static Object parse(String json) {
+        Parser parser = new Parser(json);
+        Object value = parser.value();
+        parser.skipWhitespace();
+        if (parser.pos != json.length()) {
+            throw parser.error("Trailing characters");
+        }
+        return value;
+    }
+    
+    private static final class Parser {
+        final String s;
+        int pos;
+        
+        Parser(String s) {
+            this.s = s;
+        }
+        
+        Object value() {
+            skipWhitespace();
+            if (pos == s.length()) {
+                throw error("Unexpected end");
+            }
+            char c = s.charAt(pos);
+            switch (c) {
+                case '{': return object();
+                case '[': return array();
+                case '"': return string();
+                case 't': return literal("true", Boolean.TRUE);
+                case 'f': return literal("false", Boolean.FALSE);
+                case 'n': return literal("null", null);
+                default: return number();
+            }
+        }
+        
+        Map<String, Object> object() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            pos++;
+            skipWhitespace();
+            if (peek() == '}') {
+                pos++;
+                return map;
+            }
+            while (true) {
+                skipWhitespace();
+                String key = string();
+                skipWhitespace();
+                expect(':');
+                map.put(key, value());
+                skipWhitespace();
+                if (peek() == ',') {
+                    pos++;
+                } else {
+                    expect('}');
+                    return map;
+                }
+            }
+        }
+        
+        List<Object> array() {
+            List<Object> list = new ArrayList<>();
+            pos++;
+            skipWhitespace();
+            if (peek() == ']') {
+                pos++;
+                return list;
+            }
+            while (true) {
+                list.add(value());
+                skipWhitespace();
+                if (peek() == ',') {
+                    pos++;
+                } else {
+                    expect(']');
+                    return list;
+                }
+            }
+        }
+        
+        String string() {
+            expect('"');
+            StringBuilder sb = new StringBuilder();
+            while (true) {
+                if (pos == s.length()) {
+                    throw error("Unterminated string");
+                }
+                char c = s.charAt(pos++);
+                if (c == '"') {
+                    return sb.toString();
+                }
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+                if (pos == s.length()) {
+                    throw error("Unterminated string");
+                }
+                char e = s.charAt(pos++);
+                switch (e) {
+                    case 'b': sb.append('\b'); break;
+                    case 'f': sb.append('\f'); break;
+                    case 'n': sb.append('\n'); break;
+                    case 'r': sb.append('\r'); break;
+                    case 't': sb.append('\t'); break;
+                    case 'u':
+                        if (pos + 4 > s.length()) {
+                            throw error("Bad unicode escape");
+                        }
+                        sb.append((char) Integer.parseInt(s.substring(pos, pos + 4), 16));
+                        pos += 4;
+                        break;
+                    default: sb.append(e);
+                }
+            }
+        }
+        
+        Double number() {
+            int start = pos;
+            while (pos < s.length() && "+-0123456789.eE".indexOf(s.charAt(pos)) >= 0) {
+                pos++;
+            }
+            try {
+                return Double.valueOf(s.substring(start, pos));
+            } catch (NumberFormatException e) {
+                pos = start;
+                throw error("Bad value");
+            }
+        }
+        
+        Object literal(String word, Object value) {
+            if (!s.startsWith(word, pos)) {
+                throw error("Bad value");
+            }
+            pos += word.length();
+            return value;
+        }
+        
+        void skipWhitespace() {
+            while (pos < s.length() && Character.isWhitespace(s.charAt(pos))) {
+                pos++;
+            }
+        }
+        
+        char peek() {
+            return pos < s.length() ? s.charAt(pos) : '\0';
+        }
+        
+        void expect(char c) {
+            if (peek() != c) {
+                throw error("Expected '" + c + "'");
+            }
+            pos++;
+        }
+        
+        IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at offset " + pos);
+        }
+    }
+}
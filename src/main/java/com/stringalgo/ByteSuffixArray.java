@@ -0,0 +1,146 @@
+package com.stringalgo;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.IntConsumer;
+
+/**
+ * Suffix Array with LCP over raw bytes.
+ * 
+ * The text is kept as given, one byte per character, in a heap array,
+ * a ByteBuffer or a memory-mapped file; no String decoding or '$'
+ * concatenation takes place. Bytes are compared as unsigned values and
+ * the end of the text is an implicit sentinel smaller than every byte, so
+ * the suffix array and LCP array have length + 1 entries with the same
+ * layout as {@link SuffixArray}. LCP extension and pattern comparison
+ * read 8 bytes per step.
+ */
+public class ByteSuffixArray extends SymbolSuffixArray {
+    
+    private final ByteBuffer bytes;
+    private final WordSequence words;
+    
+    /**
+     * @param bytes the input bytes (not copied)
+     */
+    public ByteSuffixArray(byte[] bytes) {
+        this(ByteBuffer.wrap(bytes));
+    }
+    
+    /**
+     * @param bytes the input bytes (not copied)
+     * @param engine the suffix array construction engine
+     */
+    public ByteSuffixArray(byte[] bytes, SuffixArrayEngine engine) {
+        this(ByteBuffer.wrap(bytes), engine);
+    }
+    
+    /**
+     * @param bytes the remaining bytes of the buffer are indexed (not copied)
+     */
+    public ByteSuffixArray(ByteBuffer bytes) {
+        this(bytes, new RadixDoublingEngine());
+    }
+    
+    /**
+     * @param bytes the remaining bytes of the buffer are indexed (not copied)
+     * @param engine the suffix array construction engine
+     */
+    public ByteSuffixArray(ByteBuffer bytes, SuffixArrayEngine engine) {
+        this(bytes.slice(), WordSequence.of(bytes), engine);
+    }
+    
+    private ByteSuffixArray(ByteBuffer bytes, WordSequence words, SuffixArrayEngine engine) {
+        super(words, engine);
+        this.bytes = bytes;
+        this.words = words;
+    }
+    
+    /**
+     * Indexes a file through a read-only memory mapping, so the text is
+     * paged in by the OS instead of being copied onto the heap.
+     * 
+     * @param file the file to index; must be smaller than 2 GB
+     * @return an unbuilt suffix array over the mapped file
+     * @throws IOException if the file cannot be mapped
+     */
+    public static ByteSuffixArray map(Path file) throws IOException {
+        return map(file, new RadixDoublingEngine());
+    }
+    
+    /**
+     * @param file the file to index; must be smaller than 2 GB
+     * @param engine the suffix array construction engine
+     * @return an unbuilt suffix array over the mapped file
+     * @throws IOException if the file cannot be mapped
+     */
+    public static ByteSuffixArray map(Path file, SuffixArrayEngine engine) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size >= Integer.MAX_VALUE) {
+                throw new IOException("File too large to index: " + size + " bytes");
+            }
+            // The mapping stays valid after the channel is closed
+            return new ByteSuffixArray(channel.map(FileChannel.MapMode.READ_ONLY, 0, size), engine);
+        }
+    }
+    
+    /**
+     * @param pattern the bytes to search
+     * @return the starting index of first occurrence, or -1 if not found
+     */
+    public int search(byte[] pattern) {
+        return search(WordSequence.of(ByteBuffer.wrap(pattern)));
+    }
+    
+    /**
+     * @param pattern the bytes to count
+     * @return number of occurrences
+     */
+    public int count(byte[] pattern) {
+        return count(WordSequence.of(ByteBuffer.wrap(pattern)));
+    }
+    
+    /**
+     * @param pattern the bytes to locate
+     * @param consumer receives each occurrence position
+     * @return number of occurrences
+     */
+    public int locateAll(byte[] pattern, IntConsumer consumer) {
+        return locateAll(WordSequence.of(ByteBuffer.wrap(pattern)), consumer);
+    }
+    
+    /**
+     * Finds the longest repeated substring in the text.
+     * 
+     * Time Complexity: O(n)
+     * 
+     * @return the longest repeated byte sequence, empty if none repeats
+     */
+    public byte[] longestRepeatedSubstring() {
+        int i = longestRepeatedIndex();
+        int start = getSuffixArray()[i];
+        int length = getLCP()[i];
+        byte[] result = new byte[length];
+        bytes.duplicate().position(start).get(result);
+        return result;
+    }
+    
+    /**
+     * @return read-only view of the indexed bytes, without the sentinel
+     */
+    public ByteBuffer getBytes() {
+        return bytes.asReadOnlyBuffer();
+    }
+    
+    @Override
+    protected int commonPrefixWithPattern(int start, SymbolSequence pattern, int limit) {
+        if (pattern instanceof WordSequence) {
+            return words.commonPrefixLength(start, (WordSequence) pattern, 0, limit);
+        }
+        return super.commonPrefixWithPattern(start, pattern, limit);
+    }
+}
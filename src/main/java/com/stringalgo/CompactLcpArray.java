@@ -0,0 +1,88 @@
+package com.stringalgo;
+
+import java.util.Arrays;
+
+/**
+ * LCP array stored as one byte per entry, with the rare values of 255 or
+ * more kept in a sorted overflow table.
+ * 
+ * On natural language and DNA almost every LCP value is below 255, so
+ * the array takes about n bytes instead of 4n. An entry of 255 in the
+ * byte array marks an overflow; its value is found by binary search of
+ * the entry's index in the overflow table, which lists indexes in
+ * increasing order next to their values. Highly repetitive texts with
+ * many long LCPs fall back to 9 bytes per overflowing entry.
+ * 
+ * Time Complexity: O(n) to build; O(1) per access below 255, O(log k)
+ * for one of k overflows
+ * Space Complexity: n + 8k bytes
+ */
+final class CompactLcpArray implements IntArray {
+    
+    private static final int OVERFLOW = 0xFF;
+    
+    private final byte[] small;
+    private final int[] overflowIndex; // sorted
+    private final int[] overflowValue;
+    
+    private CompactLcpArray(byte[] small, int[] overflowIndex, int[] overflowValue) {
+        this.small = small;
+        this.overflowIndex = overflowIndex;
+        this.overflowValue = overflowValue;
+    }
+    
+    /**
+     * @param lcp non-negative values to encode
+     * @return a compact copy
+     */
+    static CompactLcpArray of(int[] lcp) {
+        int overflows = 0;
+        for (int value : lcp) {
+            if (value >= OVERFLOW) {
+                overflows++;
+            }
+        }
+        byte[] small = new byte[lcp.length];
+        int[] overflowIndex = new int[overflows];
+        int[] overflowValue = new int[overflows];
+        int k = 0;
+        for (int i = 0; i < lcp.length; i++) {
+            if (lcp[i] >= OVERFLOW) {
+                small[i] = (byte) OVERFLOW;
+                overflowIndex[k] = i;
+                overflowValue[k++] = lcp[i];
+            } else {
+                small[i] = (byte) lcp[i];
+            }
+        }
+        return new CompactLcpArray(small, overflowIndex, overflowValue);
+    }
+    
+    @Override
+    public int length() {
+        return small.length;
+    }
+    
+    @Override
+    public int get(int i) {
+        int value = small[i] & 0xFF;
+        if (value != OVERFLOW) {
+            return value;
+        }
+        return overflowValue[Arrays.binarySearch(overflowIndex, i)];
+    }
+    
+    /**
+     * @return number of entries held in the overflow table
+     */
+    int overflowCount() {
+        return overflowIndex.length;
+    }
+    
+    /**
+     * @return bytes held by the byte array and the overflow table
+     */
+    long memoryBytes() {
+        return small.length + (long) overflowIndex.length * 2 * Integer.BYTES;
+    }
+}
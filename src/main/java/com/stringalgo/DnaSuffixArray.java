@@ -0,0 +1,93 @@
+package com.stringalgo;
+
+/**
+ * Suffix Array with LCP over a DNA sequence stored at 2 bits per base.
+ * 
+ * The text costs n / 4 bytes instead of the 2n bytes of a Java String.
+ * Runs of N are kept out of band, so ACGT stretches are compared 32 bases
+ * per 64-bit word during LCP extension and pattern search. Results are
+ * identical to {@link SuffixArray} on the same upper-case text.
+ * 
+ * Time Complexity:
+ * - SA construction: O(n) with SA-IS (default)
+ * - LCP construction: O(n), with extensions compared 32 bases at a time
+ * - Search: O((m / 32) log n) for patterns without N
+ */
+public class DnaSuffixArray extends SymbolSuffixArray {
+    
+    private final PackedDna dna;
+    
+    /**
+     * @param dna bases A, C, G, T or N, in either case
+     * @throws IllegalArgumentException on any other character
+     */
+    public DnaSuffixArray(CharSequence dna) {
+        this(dna, new SaisEngine());
+    }
+    
+    /**
+     * @param dna bases A, C, G, T or N, in either case
+     * @param engine the suffix array construction engine
+     * @throws IllegalArgumentException on any other character
+     */
+    public DnaSuffixArray(CharSequence dna, SuffixArrayEngine engine) {
+        this(new PackedDna(dna), engine);
+    }
+    
+    private DnaSuffixArray(PackedDna dna, SuffixArrayEngine engine) {
+        super(dna, engine);
+        this.dna = dna;
+    }
+    
+    /**
+     * @param pattern bases A, C, G, T or N, in either case
+     * @return the starting index of first occurrence, or -1 if not found
+     * @throws IllegalArgumentException if the pattern is not DNA
+     */
+    public int search(CharSequence pattern) {
+        return search(new PackedDna(pattern));
+    }
+    
+    /**
+     * @param pattern bases A, C, G, T or N, in either case
+     * @return number of occurrences
+     * @throws IllegalArgumentException if the pattern is not DNA
+     */
+    public int count(CharSequence pattern) {
+        return count(new PackedDna(pattern));
+    }
+    
+    /**
+     * Finds the longest repeated substring in the sequence.
+     * 
+     * @return the longest repeated substring, upper case
+     */
+    public String longestRepeatedSubstring() {
+        int i = longestRepeatedIndex();
+        int start = getSuffixArray()[i];
+        return dna.substring(start, start + getLCP()[i]);
+    }
+    
+    /**
+     * @return bytes used to store the sequence itself
+     */
+    public long getTextBytes() {
+        return dna.memoryBytes();
+    }
+    
+    /**
+     * @return bytes of the packed sequence plus the suffix, LCP and (until
+     *         the LCP array is built) rank arrays
+     */
+    public long getRetainedBytes() {
+        return getTextBytes() + getArrayBytes();
+    }
+    
+    @Override
+    protected int commonPrefixWithPattern(int start, SymbolSequence pattern, int limit) {
+        if (pattern instanceof PackedDna) {
+            return dna.commonPrefixLength(start, (PackedDna) pattern, 0, limit);
+        }
+        return super.commonPrefixWithPattern(start, pattern, limit);
+    }
+}
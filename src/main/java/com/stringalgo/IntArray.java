@@ -0,0 +1,59 @@
+package com.stringalgo;
+
+/**
+ * Read-only array of ints, such as a suffix or LCP array, independent of
+ * where the values are stored: on the heap, or in a memory-mapped index
+ * file (see {@link SuffixIndexFile}).
+ * 
+ * Implementations are immutable, so a view may be shared between threads.
+ */
+public interface IntArray {
+    
+    /**
+     * @return number of entries
+     */
+    int length();
+    
+    /**
+     * @param i index in [0, length())
+     * @return the i-th entry
+     */
+    int get(int i);
+    
+    /**
+     * @return a copy of the entries that the caller may modify
+     */
+    default int[] toArray() {
+        int[] copy = new int[length()];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = get(i);
+        }
+        return copy;
+    }
+    
+    /**
+     * Wraps an array without copying it. The caller must not modify the
+     * array while the view is in use.
+     * 
+     * @param array the entries
+     * @return a read-only view of the array
+     */
+    static IntArray wrap(int[] array) {
+        return new IntArray() {
+            @Override
+            public int length() {
+                return array.length;
+            }
+            
+            @Override
+            public int get(int i) {
+                return array[i];
+            }
+            
+            @Override
+            public int[] toArray() {
+                return array.clone();
+            }
+        };
+    }
+}
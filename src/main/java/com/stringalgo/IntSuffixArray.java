@@ -0,0 +1,136 @@
+package com.stringalgo;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Suffix Array with LCP over a sequence of integer symbols, such as token
+ * IDs produced by a tokenizer.
+ * 
+ * Symbols must lie in [0, alphabetSize). The declared alphabet size is
+ * passed to the construction engine, which uses it to size its buckets
+ * (SA-IS, the default) or counting-sort tables (radix doubling). As with
+ * {@link SuffixArray}, an implicit sentinel terminates the sequence, so
+ * the SA and LCP arrays have length + 1 entries.
+ * 
+ * Time Complexity:
+ * - SA construction: O(n + alphabetSize) with SA-IS
+ * - LCP construction: O(n)
+ * - Search: O(m log n)
+ */
+public class IntSuffixArray extends SymbolSuffixArray {
+    
+    private final int[] symbols;
+    private final int alphabetSize;
+    
+    /**
+     * @param symbols the sequence to index (not copied)
+     * @param alphabetSize exclusive upper bound on symbol values
+     * @throws IllegalArgumentException if a symbol is outside [0, alphabetSize)
+     */
+    public IntSuffixArray(int[] symbols, int alphabetSize) {
+        this(symbols, alphabetSize, new SaisEngine());
+    }
+    
+    /**
+     * @param symbols the sequence to index (not copied)
+     * @param alphabetSize exclusive upper bound on symbol values
+     * @param engine the suffix array construction engine
+     * @throws IllegalArgumentException if a symbol is outside [0, alphabetSize)
+     */
+    public IntSuffixArray(int[] symbols, int alphabetSize, SuffixArrayEngine engine) {
+        super(SymbolSequence.of(checkSymbols(symbols, alphabetSize), alphabetSize), engine);
+        this.symbols = symbols;
+        this.alphabetSize = alphabetSize;
+    }
+    
+    /**
+     * @param pattern the symbols to search
+     * @return the starting index of first occurrence, or -1 if not found
+     */
+    public int search(int[] pattern) {
+        return inAlphabet(pattern) ? search(patternOf(pattern)) : -1;
+    }
+    
+    /**
+     * @param pattern the symbols to count
+     * @return number of occurrences
+     */
+    public int count(int[] pattern) {
+        return inAlphabet(pattern) ? count(patternOf(pattern)) : 0;
+    }
+    
+    /**
+     * Writes the starting positions of all occurrences into the given
+     * array, in suffix array order. If the array is too short, only the
+     * first positions.length occurrences are written.
+     * 
+     * @param pattern the symbols to locate
+     * @param positions output array for occurrence positions
+     * @return total number of occurrences, which may exceed positions.length
+     */
+    public int locateAll(int[] pattern, int[] positions) {
+        return inAlphabet(pattern) ? locateAll(patternOf(pattern), positions) : 0;
+    }
+    
+    /**
+     * @param pattern the symbols to locate
+     * @param consumer receives each occurrence position
+     * @return number of occurrences
+     */
+    public int locateAll(int[] pattern, IntConsumer consumer) {
+        return inAlphabet(pattern) ? locateAll(patternOf(pattern), consumer) : 0;
+    }
+    
+    /**
+     * Finds the longest repeated symbol sequence, e.g. the longest n-gram
+     * occurring at least twice.
+     * 
+     * Time Complexity: O(n)
+     * 
+     * @return the longest repeated subsequence of consecutive symbols,
+     *         empty if none repeats
+     */
+    public int[] longestRepeatedSubstring() {
+        int i = longestRepeatedIndex();
+        int start = getSuffixArray()[i];
+        return Arrays.copyOfRange(symbols, start, start + getLCP()[i]);
+    }
+    
+    /**
+     * @return the indexed symbols, without the sentinel
+     */
+    public int[] getSymbols() {
+        return symbols;
+    }
+    
+    /**
+     * A symbol outside the text's alphabet cannot occur in it, so such a
+     * pattern is answered without searching.
+     */
+    private boolean inAlphabet(int[] pattern) {
+        for (int symbol : pattern) {
+            if (symbol < 0 || symbol >= alphabetSize) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private SymbolSequence patternOf(int[] pattern) {
+        return SymbolSequence.of(pattern, alphabetSize);
+    }
+    
+    private static int[] checkSymbols(int[] symbols, int alphabetSize) {
+        if (alphabetSize < 1 || alphabetSize == Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid alphabet size: " + alphabetSize);
+        }
+        for (int i = 0; i < symbols.length; i++) {
+            if (symbols[i] < 0 || symbols[i] >= alphabetSize) {
+                throw new IllegalArgumentException(
+                    "Symbol " + symbols[i] + " at " + i + " outside [0, " + alphabetSize + ")");
+            }
+        }
+        return symbols;
+    }
+}
@@ -0,0 +1,82 @@
+package com.stringalgo;
+
+/**
+ * LCP construction using Kasai's algorithm.
+ * 
+ * Key insight: If suffix at position i has LCP of length k with its
+ * predecessor in SA, then suffix at i+1 has LCP of at least k-1
+ * with its predecessor.
+ * 
+ * Time Complexity: O(n)
+ * Space Complexity: O(n), plus an inverse suffix array unless the rank
+ * buffer left by construction is reused
+ */
+public class KasaiLcpBuilder implements LcpBuilder {
+    
+    private final boolean reuseRank;
+    
+    /**
+     * Creates a builder that allocates its own inverse suffix array.
+     */
+    public KasaiLcpBuilder() {
+        this(false);
+    }
+    
+    /**
+     * @param reuseRank if true, read the rank buffer left by construction
+     *                  as the inverse suffix array instead of allocating one
+     */
+    public KasaiLcpBuilder(boolean reuseRank) {
+        this.reuseRank = reuseRank;
+    }
+    
+    @Override
+    public void build(SymbolSequence text, int[] suffixArray, int[] rank, int[] lcp) {
+        build(text, IntArray.wrap(suffixArray), rank, lcp);
+    }
+    
+    /**
+     * Reads the suffix array only through the accessor: once per entry
+     * to invert it (unless the rank buffer is reused), then once per
+     * text position for the predecessor, so packed storage works in place.
+     */
+    @Override
+    public void build(SymbolSequence text, IntArray suffixArray, int[] rank, int[] lcp) {
+        int n = text.length();
+        
+        // Build inverse suffix array (rank array)
+        int[] invSA;
+        if (reuseRank && rank != null) {
+            invSA = rank;
+        } else {
+            invSA = new int[n];
+            for (int i = 0; i < n; i++) {
+                invSA[suffixArray.get(i)] = i;
+            }
+        }
+        
+        int k = 0; // Length of current LCP
+        
+        // Process suffixes in text order
+        for (int i = 0; i < n; i++) {
+            // Skip the first suffix in sorted order (no predecessor)
+            if (invSA[i] == 0) {
+                k = 0;
+                continue;
+            }
+            
+            // Get the previous suffix in sorted order
+            int j = suffixArray.get(invSA[i] - 1);
+            
+            // Extend LCP while symbols match
+            k += text.commonPrefixLength(i + k, j + k, n - Math.max(i, j) - k);
+            
+            lcp[invSA[i]] = k;
+            
+            // Decrease k for next iteration (key optimization)
+            if (k > 0) {
+                k--;
+            }
+        }
+    }
+}
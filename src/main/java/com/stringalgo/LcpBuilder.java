@@ -0,0 +1,46 @@
+package com.stringalgo;
+
+/**
+ * Strategy for building the LCP array from a suffix array.
+ * 
+ * lcp[i] is the length of the longest common prefix of the suffixes at
+ * suffixArray[i - 1] and suffixArray[i]; lcp[0] is 0. Every builder must
+ * produce the same array for the same input.
+ */
+public interface LcpBuilder {
+    
+    /**
+     * Computes the LCP array.
+     * 
+     * @param text the indexed symbols
+     * @param suffixArray the suffix array of text
+     * @param rank the inverse suffix array, or null if it is not available;
+     *             builders that report {@link #overwritesRank()} may use it
+     *             as scratch space
+     * @param lcp output, length text.length()
+     */
+    void build(SymbolSequence text, int[] suffixArray, int[] rank, int[] lcp);
+    
+    /**
+     * Computes the LCP array from a suffix array read through an
+     * accessor, such as a bit-packed one. Builders that only read the
+     * suffix array override this to work on it in place; the default
+     * unpacks it into a temporary int[].
+     * 
+     * @param text the indexed symbols
+     * @param suffixArray the suffix array of text
+     * @param rank as in {@link #build(SymbolSequence, int[], int[], int[])}
+     * @param lcp output, length text.length()
+     */
+    default void build(SymbolSequence text, IntArray suffixArray, int[] rank, int[] lcp) {
+        build(text, suffixArray.toArray(), rank, lcp);
+    }
+    
+    /**
+     * @return true if {@link #build} leaves rank overwritten, in which case
+     *         the caller must discard it afterwards
+     */
+    default boolean overwritesRank() {
+        return false;
+    }
+}
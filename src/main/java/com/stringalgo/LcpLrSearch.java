@@ -0,0 +1,164 @@
+package com.stringalgo;
+
+/**
+ * Manber–Myers pattern search accelerated by precomputed LCP-LR arrays.
+ * 
+ * The binary search always visits the same midpoints, so for every
+ * midpoint M of a search interval (L, R) the values
+ *   llcp[M] = lcp(SA[L], SA[M])  and  rlcp[M] = lcp(SA[M], SA[R])
+ * can be computed once from the LCP array. During a search, l and r hold
+ * the number of pattern characters already matched against SA[L] and
+ * SA[R]; comparing llcp[M] or rlcp[M] with max(l, r) decides most probes
+ * without touching the text, and a character comparison never restarts
+ * below max(l, r).
+ * 
+ * Time Complexity: O(n) to build, O(m + log n) per search
+ * Space Complexity: O(n), two int arrays, or about 2n bytes when stored
+ * compactly
+ */
+final class LcpLrSearch {
+    
+    private final CharSequence text;
+    private final IntArray suffixArray;
+    private final int n;
+    private final int textLength;
+    private final IntArray llcp;
+    private final IntArray rlcp;
+    
+    LcpLrSearch(CharSequence text, IntArray suffixArray, IntArray lcp) {
+        this(text, suffixArray, lcp, false);
+    }
+    
+    /**
+     * @param compact whether to store llcp and rlcp as
+     *                {@link CompactLcpArray}s, about 2 bytes per
+     *                character instead of 8
+     */
+    LcpLrSearch(CharSequence text, IntArray suffixArray, IntArray lcp, boolean compact) {
+        this.text = text;
+        this.suffixArray = suffixArray;
+        this.n = suffixArray.length();
+        this.textLength = text.length();
+        int[] left = new int[n];
+        int[] right = new int[n];
+        if (n > 0) {
+            fill(-1, n, lcp, left, right);
+        }
+        this.llcp = compact ? CompactLcpArray.of(left) : IntArray.wrap(left);
+        this.rlcp = compact ? CompactLcpArray.of(right) : IntArray.wrap(right);
+    }
+    
+    /**
+     * Fills llcp/rlcp for all midpoints inside (L, R) and returns the
+     * minimum of lcp[L+1..R], treating positions outside [1, n) as 0.
+     * The virtual bounds L = -1 and R = n therefore share no prefix with
+     * anything.
+     */
+    private int fill(int left, int right, IntArray lcp, int[] llcp, int[] rlcp) {
+        if (right - left == 1) {
+            return (right >= 1 && right < n) ? lcp.get(right) : 0;
+        }
+        int mid = left + (right - left) / 2;
+        int l = fill(left, mid, lcp, llcp, rlcp);
+        int r = fill(mid, right, lcp, llcp, rlcp);
+        llcp[mid] = l;
+        rlcp[mid] = r;
+        return Math.min(l, r);
+    }
+    
+    /**
+     * @return bytes held by the llcp and rlcp arrays
+     */
+    long memoryBytes() {
+        return bytes(llcp) + bytes(rlcp);
+    }
+    
+    private static long bytes(IntArray array) {
+        if (array instanceof CompactLcpArray) {
+            return ((CompactLcpArray) array).memoryBytes();
+        }
+        return (long) array.length() * Integer.BYTES;
+    }
+    
+    /**
+     * @return index in SA of the first suffix whose first m characters
+     *         are not less than the pattern
+     */
+    int lowerBound(CharSequence pattern) {
+        return bound(pattern, false);
+    }
+    
+    /**
+     * @return index in SA of the first suffix whose first m characters
+     *         are greater than the pattern
+     */
+    int upperBound(CharSequence pattern) {
+        return bound(pattern, true);
+    }
+    
+    /**
+     * Binary search over the fixed midpoint tree. Suffixes with the
+     * pattern as a prefix go right of the bound when upper is true and
+     * left of it otherwise; all other decisions are the same for both.
+     */
+    private int bound(CharSequence pattern, boolean upper) {
+        int m = pattern.length();
+        int left = -1, right = n;
+        int l = 0, r = 0; // matched prefix lengths against SA[left], SA[right]
+        
+        while (right - left > 1) {
+            int mid = left + (right - left) / 2;
+            int start;
+            if (l >= r) {
+                int lm = llcp.get(mid);
+                if (lm > l) {
+                    // SA[mid] agrees with SA[left] past where it left the pattern
+                    left = mid;
+                    continue;
+                } else if (lm < l) {
+                    // SA[mid] leaves SA[left] earlier and upwards
+                    right = mid;
+                    r = lm;
+                    continue;
+                }
+                start = l;
+            } else {
+                int rm = rlcp.get(mid);
+                if (rm > r) {
+                    right = mid;
+                    continue;
+                } else if (rm < r) {
+                    left = mid;
+                    l = rm;
+                    continue;
+                }
+                start = r;
+            }
+            
+            // Extend the match from the shared prefix
+            int suffix = suffixArray.get(mid);
+            int k = start;
+            while (k < m && suffix + k < textLength 
+                   && text.charAt(suffix + k) == pattern.charAt(k)) {
+                k++;
+            }
+            
+            boolean goLeft;
+            if (k == m) {
+                goLeft = upper;
+            } else {
+                // A suffix that reaches the end of the text sorts first
+                goLeft = suffix + k == textLength || text.charAt(suffix + k) < pattern.charAt(k);
+            }
+            if (goLeft) {
+                left = mid;
+                l = k;
+            } else {
+                right = mid;
+                r = k;
+            }
+        }
+        
+        return right;
+    }
+}
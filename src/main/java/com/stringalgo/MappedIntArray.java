@@ -0,0 +1,57 @@
+package com.stringalgo;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Read-only int array backed by a memory-mapped region of a file, stored
+ * little-endian.
+ * 
+ * A single mapping is limited to 2 GB, so the region is mapped as
+ * segments of 2^28 ints (1 GB) and an index is split into a segment
+ * number and an offset with a shift and a mask.
+ * 
+ * Time Complexity: O(1) per access
+ * Space Complexity: O(1) on the heap; the values stay in the page cache
+ */
+final class MappedIntArray implements IntArray {
+    
+    static final int SEGMENT_SHIFT = 28;
+    private static final int SEGMENT_MASK = (1 << SEGMENT_SHIFT) - 1;
+    
+    private final IntBuffer[] segments;
+    private final int length;
+    
+    private MappedIntArray(IntBuffer[] segments, int length) {
+        this.segments = segments;
+        this.length = length;
+    }
+    
+    /**
+     * Maps length ints starting at the given file offset.
+     */
+    static MappedIntArray map(FileChannel channel, long offset, int length) throws IOException {
+        int count = (int) (((long) length + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+        IntBuffer[] segments = new IntBuffer[count];
+        for (int s = 0; s < count; s++) {
+            long first = (long) s << SEGMENT_SHIFT;
+            long size = Math.min(length - first, 1L << SEGMENT_SHIFT) * Integer.BYTES;
+            segments[s] = channel.map(FileChannel.MapMode.READ_ONLY, offset + first * Integer.BYTES, size)
+                .order(ByteOrder.LITTLE_ENDIAN)
+                .asIntBuffer();
+        }
+        return new MappedIntArray(segments, length);
+    }
+    
+    @Override
+    public int length() {
+        return length;
+    }
+    
+    @Override
+    public int get(int i) {
+        return segments[i >>> SEGMENT_SHIFT].get(i & SEGMENT_MASK);
+    }
+}
@@ -0,0 +1,92 @@
+package com.stringalgo;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Read-only text backed by a memory-mapped region of a file, stored as
+ * one byte per character (Latin-1) or as UTF-16LE.
+ * 
+ * Like {@link MappedIntArray}, the region is mapped in 1 GB segments so
+ * texts larger than a single mapping can be viewed.
+ * 
+ * Time Complexity: O(1) per charAt
+ * Space Complexity: O(1) on the heap; the text stays in the page cache
+ */
+final class MappedText implements CharSequence {
+    
+    private static final int SEGMENT_BYTES_SHIFT = 30;
+    
+    private final ByteBuffer[] bytes; // Latin-1 segments, or null
+    private final CharBuffer[] chars; // UTF-16 segments, or null
+    private final int shift;
+    private final int mask;
+    private final int length;
+    
+    private MappedText(ByteBuffer[] bytes, CharBuffer[] chars, int shift, int length) {
+        this.bytes = bytes;
+        this.chars = chars;
+        this.shift = shift;
+        this.mask = (1 << shift) - 1;
+        this.length = length;
+    }
+    
+    /**
+     * Maps length characters starting at the given file offset.
+     * 
+     * @param utf16 whether characters are stored as two bytes
+     */
+    static MappedText map(FileChannel channel, long offset, int length, boolean utf16) throws IOException {
+        int width = utf16 ? 2 : 1;
+        int shift = SEGMENT_BYTES_SHIFT - (width - 1);
+        int count = (int) (((long) length + (1 << shift) - 1) >>> shift);
+        ByteBuffer[] segments = new ByteBuffer[count];
+        for (int s = 0; s < count; s++) {
+            long first = (long) s << shift;
+            long size = Math.min(length - first, 1L << shift) * width;
+            segments[s] = channel.map(FileChannel.MapMode.READ_ONLY, offset + first * width, size)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        }
+        if (!utf16) {
+            return new MappedText(segments, null, shift, length);
+        }
+        CharBuffer[] chars = new CharBuffer[count];
+        for (int s = 0; s < count; s++) {
+            chars[s] = segments[s].asCharBuffer();
+        }
+        return new MappedText(null, chars, shift, length);
+    }
+    
+    @Override
+    public int length() {
+        return length;
+    }
+    
+    @Override
+    public char charAt(int index) {
+        if (chars != null) {
+            return chars[index >>> shift].get(index & mask);
+        }
+        return (char) (bytes[index >>> shift].get(index & mask) & 0xFF);
+    }
+    
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException("[" + start + ", " + end + ") of " + length);
+        }
+        StringBuilder sb = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            sb.append(charAt(i));
+        }
+        return sb.toString();
+    }
+    
+    @Override
+    public String toString() {
+        return subSequence(0, length).toString();
+    }
+}
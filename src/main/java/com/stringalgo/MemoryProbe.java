@@ -0,0 +1,127 @@
+package com.stringalgo;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Measures the memory behaviour of one benchmark phase on the calling
+ * thread: bytes allocated, peak heap usage, and GC activity.
+ * 
+ * Allocation is read from com.sun.management.ThreadMXBean, so it counts
+ * only the calling thread; work forked to other threads (e.g. by the
+ * parallel engine) is not included. Peak heap is the sum of the peak
+ * usage of all heap pools since the phase started, which includes data
+ * that was live before the phase and may overstate the true peak when
+ * pools peak at different times. Values are -1 where the JVM does not
+ * support a measurement.
+ */
+final class MemoryProbe {
+    
+    // Bytes the probe itself allocates between start() and stop()
+    private static final long OVERHEAD = calibrate();
+    
+    private final long allocatedBefore;
+    private final long gcCountBefore;
+    private final long gcTimeBefore;
+    
+    private MemoryProbe() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+        this.gcCountBefore = gcCount();
+        this.gcTimeBefore = gcTime();
+        this.allocatedBefore = allocatedBytes();
+    }
+    
+    /**
+     * Starts measuring a phase.
+     */
+    static MemoryProbe start() {
+        return new MemoryProbe();
+    }
+    
+    /**
+     * Ends the phase.
+     * 
+     * @return what the phase allocated and how the heap and GC behaved
+     */
+    Phase stop() {
+        return measure(OVERHEAD);
+    }
+    
+    private Phase measure(long overhead) {
+        long allocated = allocatedBytes();
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return new Phase(allocatedBefore < 0 ? -1 : Math.max(0, allocated - allocatedBefore - overhead), peak,
+                         gcCount() - gcCountBefore, gcTime() - gcTimeBefore);
+    }
+    
+    private static long calibrate() {
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            min = Math.min(min, new MemoryProbe().measure(0).allocatedBytes);
+        }
+        return Math.max(0, min);
+    }
+    
+    private static long allocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean sun = (com.sun.management.ThreadMXBean) threads;
+            if (sun.isThreadAllocatedMemorySupported() && sun.isThreadAllocatedMemoryEnabled()) {
+                return sun.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+    
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+    
+    private static long gcTime() {
+        long time = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            time += Math.max(0, gc.getCollectionTime());
+        }
+        return time;
+    }
+    
+    /**
+     * Memory measurements of one phase.
+     */
+    static final class Phase {
+        final long allocatedBytes;
+        final long peakHeapBytes;
+        final long gcCount;
+        final long gcTimeMillis;
+        
+        Phase(long allocatedBytes, long peakHeapBytes, long gcCount, long gcTimeMillis) {
+            this.allocatedBytes = allocatedBytes;
+            this.peakHeapBytes = peakHeapBytes;
+            this.gcCount = gcCount;
+            this.gcTimeMillis = gcTimeMillis;
+        }
+        
+        /**
+         * @return bytes allocated per input character, or -1 if unknown
+         */
+        double allocatedPerChar(int size) {
+            return allocatedBytes < 0 ? -1 : (double) allocatedBytes / size;
+        }
+    }
+}
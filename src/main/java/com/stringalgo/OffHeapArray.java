@@ -0,0 +1,72 @@
+package com.stringalgo;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+
+/**
+ * Array of non-negative ints stored outside the Java heap in direct
+ * ByteBuffer segments.
+ * 
+ * A direct buffer is limited to 2 GB, so the entries are spread over
+ * segments of 2^30 bytes (2^28 ints); an index is split into a segment
+ * number and an offset with a shift and a mask. Indexes are ints: like
+ * the engines and the text, the array holds at most 2^31 - 1 entries.
+ * 
+ * The memory is not managed by the garbage collector: it is never copied
+ * or scanned, does not count against -Xmx (but against
+ * -XX:MaxDirectMemorySize), and is released when the array becomes
+ * unreachable. The array is filled when it is created and only read
+ * afterwards, so it can be shared between threads.
+ * 
+ * Time Complexity: O(1) per access
+ * Space Complexity: 4 bytes per entry, off-heap
+ */
+final class OffHeapArray implements IntArray {
+    
+    private static final int SEGMENT_SHIFT = 28;
+    private static final int SEGMENT_MASK = (1 << SEGMENT_SHIFT) - 1;
+    
+    private final IntBuffer[] segments;
+    private final int length;
+    
+    private OffHeapArray(int[] array) {
+        this.length = array.length;
+        int count = (int) (((long) length + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+        this.segments = new IntBuffer[count];
+        for (int s = 0, from = 0; s < count; s++) {
+            int entries = Math.min(length - from, 1 << SEGMENT_SHIFT);
+            // Bulk copy; the view has native order, so this is a plain memory copy
+            segments[s] = ByteBuffer.allocateDirect(entries * Integer.BYTES)
+                                    .order(ByteOrder.nativeOrder())
+                                    .asIntBuffer()
+                                    .put(array, from, entries);
+            from += entries;
+        }
+    }
+    
+    /**
+     * @param array the values to copy
+     * @return an off-heap copy of the array
+     */
+    static OffHeapArray copyOf(int[] array) {
+        return new OffHeapArray(array);
+    }
+    
+    /**
+     * @return bytes allocated off-heap
+     */
+    long memoryBytes() {
+        return (long) length * Integer.BYTES;
+    }
+    
+    @Override
+    public int length() {
+        return length;
+    }
+    
+    @Override
+    public int get(int i) {
+        return segments[i >>> SEGMENT_SHIFT].get(i & SEGMENT_MASK);
+    }
+}
@@ -0,0 +1,206 @@
+package com.stringalgo;
+
+import java.util.Arrays;
+
+/**
+ * DNA sequence packed at 2 bits per base, with runs of N kept out of band.
+ * 
+ * Bases A, C, G, T are stored as 0..3, base i in bits 2(i mod 32) of word
+ * i / 32, so the first differing base of two 32-base windows is found with
+ * Long.numberOfTrailingZeros on their XOR. N positions hold a placeholder
+ * in the packed words and are recorded as sorted [start, end) runs.
+ * 
+ * As symbols, bases map to A=0, C=1, G=2, N=3, T=4, matching character
+ * order. Lower-case input is accepted and treated as upper case.
+ * 
+ * Space Complexity: n / 4 bytes plus 8 bytes per N-run
+ */
+final class PackedDna implements SymbolSequence {
+    
+    private static final int[] SYMBOL_OF_CODE = {0, 1, 2, 4}; // A C G T
+    private static final int N_SYMBOL = 3;
+    private static final char[] BASES = {'A', 'C', 'G', 'N', 'T'};
+    
+    private final int length;
+    private final long[] words;
+    private final int[] runStarts;
+    private final int[] runEnds;
+    
+    /**
+     * @param dna bases A, C, G, T or N, in either case
+     * @throws IllegalArgumentException on any other character
+     */
+    PackedDna(CharSequence dna) {
+        this.length = dna.length();
+        this.words = new long[(length + 31) / 32 + 1]; // one spare word for unaligned loads
+        
+        int[] starts = new int[8];
+        int[] ends = new int[8];
+        int runs = 0;
+        for (int i = 0; i < length; i++) {
+            char c = dna.charAt(i);
+            int code;
+            switch (c) {
+                case 'A': case 'a': code = 0; break;
+                case 'C': case 'c': code = 1; break;
+                case 'G': case 'g': code = 2; break;
+                case 'T': case 't': code = 3; break;
+                case 'N': case 'n':
+                    if (runs > 0 && ends[runs - 1] == i) {
+                        ends[runs - 1]++;
+                    } else {
+                        if (runs == starts.length) {
+                            starts = Arrays.copyOf(starts, runs * 2);
+                            ends = Arrays.copyOf(ends, runs * 2);
+                        }
+                        starts[runs] = i;
+                        ends[runs] = i + 1;
+                        runs++;
+                    }
+                    continue;
+                default:
+                    throw new IllegalArgumentException(
+                        "Not a DNA base at " + i + ": '" + c + "'");
+            }
+            words[i >>> 5] |= (long) code << ((i & 31) << 1);
+        }
+        this.runStarts = Arrays.copyOf(starts, runs);
+        this.runEnds = Arrays.copyOf(ends, runs);
+    }
+    
+    @Override
+    public int length() {
+        return length;
+    }
+    
+    @Override
+    public int symbolAt(int i) {
+        if (runStarts.length > 0 && isN(i)) {
+            return N_SYMBOL;
+        }
+        return SYMBOL_OF_CODE[(int) (words[i >>> 5] >>> ((i & 31) << 1)) & 3];
+    }
+    
+    @Override
+    public int alphabetSize() {
+        return 5;
+    }
+    
+    @Override
+    public int commonPrefixLength(int i, int j, int limit) {
+        return commonPrefixLength(i, this, j, limit);
+    }
+    
+    /**
+     * Counts the equal bases of this sequence from i and other from j,
+     * comparing 32 bases per step between N positions.
+     */
+    int commonPrefixLength(int i, PackedDna other, int j, int limit) {
+        int k = 0;
+        while (k < limit) {
+            int p = i + k;
+            int q = j + k;
+            int run = Math.min(limit - k, Math.min(nextN(p) - p, other.nextN(q) - q));
+            
+            int c = packedCommonPrefix(p, other, q, run);
+            k += c;
+            if (c < run || k == limit) {
+                return k;
+            }
+            
+            // At least one side is at an N: equal only if both are
+            p = i + k;
+            q = j + k;
+            if (!isN(p) || !other.isN(q)) {
+                return k;
+            }
+            k += Math.min(limit - k, Math.min(runEnd(p) - p, other.runEnd(q) - q));
+        }
+        return k;
+    }
+    
+    /**
+     * Word-parallel comparison of len bases that contain no N.
+     */
+    private int packedCommonPrefix(int i, PackedDna other, int j, int len) {
+        for (int k = 0; k < len; k += 32) {
+            long x = window(i + k) ^ other.window(j + k);
+            if (x != 0) {
+                return Math.min(len, k + (Long.numberOfTrailingZeros(x) >>> 1));
+            }
+        }
+        return len;
+    }
+    
+    /**
+     * @return the 32 bases starting at position p, base p in the low bits;
+     *         positions past the end read as 0
+     */
+    private long window(int p) {
+        int w = p >>> 5;
+        int shift = (p & 31) << 1;
+        if (w >= words.length) {
+            return 0;
+        }
+        long lo = words[w] >>> shift;
+        if (shift != 0 && w + 1 < words.length) {
+            lo |= words[w + 1] << (64 - shift);
+        }
+        return lo;
+    }
+    
+    /**
+     * @return the first N position at or after p, or length if none
+     */
+    private int nextN(int p) {
+        int r = runAtOrAfter(p);
+        return r < runStarts.length ? Math.max(p, runStarts[r]) : length;
+    }
+    
+    private boolean isN(int p) {
+        int r = runAtOrAfter(p);
+        return r < runStarts.length && runStarts[r] <= p;
+    }
+    
+    /**
+     * @return end of the N-run containing p
+     */
+    private int runEnd(int p) {
+        return runEnds[runAtOrAfter(p)];
+    }
+    
+    /**
+     * @return index of the first run whose end is after p
+     */
+    private int runAtOrAfter(int p) {
+        int lo = 0, hi = runEnds.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (runEnds[mid] <= p) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+    
+    /**
+     * @return the bases from start to end as a String
+     */
+    String substring(int start, int end) {
+        StringBuilder sb = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            sb.append(BASES[symbolAt(i)]);
+        }
+        return sb.toString();
+    }
+    
+    /**
+     * @return bytes held by the packed words and N-runs
+     */
+    long memoryBytes() {
+        return (long) words.length * Long.BYTES 
+            + (long) (runStarts.length + runEnds.length) * Integer.BYTES;
+    }
+}
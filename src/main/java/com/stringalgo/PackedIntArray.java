@@ -0,0 +1,93 @@
+package com.stringalgo;
+
+/**
+ * Suffix array packed at ceil(log2 n) bits per entry instead of 32.
+ * 
+ * Entries are laid out back to back in a long[], least significant bit
+ * first, so an entry occupies bits [i * bits, (i + 1) * bits) and may
+ * straddle two words. The word array has one word of padding, so a read
+ * always combines the word holding the entry's first bit with the next
+ * one and never branches on the straddle. Like the int[] it replaces,
+ * the array has an int length and holds values in [0, 2^31), so widths
+ * range from 1 to 31 bits.
+ * 
+ * Time Complexity: O(1) per access, a multiply, two loads and shifts
+ * Space Complexity: bits / 8 bytes per entry, plus 8 bytes
+ */
+final class PackedIntArray implements IntArray {
+    
+    private final long[] words;
+    private final int bits;
+    private final long mask;
+    private final int length;
+    
+    private PackedIntArray(int length, int bits) {
+        this.length = length;
+        this.bits = bits;
+        this.mask = (1L << bits) - 1;
+        this.words = new long[(int) (((long) length * bits + 63) >>> 6) + 1];
+    }
+    
+    /**
+     * @param maxValue largest value to be stored
+     * @return the number of bits needed for values in [0, maxValue], at least 1
+     */
+    static int bitsFor(int maxValue) {
+        return Math.max(1, 32 - Integer.numberOfLeadingZeros(maxValue));
+    }
+    
+    /**
+     * Packs a suffix array of n entries, whose values lie in [0, n), at
+     * ceil(log2 n) bits per entry.
+     * 
+     * @param suffixArray the values to pack
+     * @return a packed copy
+     */
+    static PackedIntArray ofSuffixArray(int[] suffixArray) {
+        int n = suffixArray.length;
+        PackedIntArray packed = new PackedIntArray(n, bitsFor(Math.max(0, n - 1)));
+        for (int i = 0; i < n; i++) {
+            packed.set(i, suffixArray[i]);
+        }
+        return packed;
+    }
+    
+    private void set(int i, long value) {
+        long bit = (long) i * bits;
+        int w = (int) (bit >>> 6);
+        int s = (int) bit & 63;
+        words[w] |= value << s;
+        if (s + bits > 64) {
+            words[w + 1] |= value >>> (64 - s);
+        }
+    }
+    
+    /**
+     * @return bits per entry
+     */
+    int bitsPerEntry() {
+        return bits;
+    }
+    
+    /**
+     * @return bytes held by the word array
+     */
+    long memoryBytes() {
+        return (long) words.length * Long.BYTES;
+    }
+    
+    @Override
+    public int length() {
+        return length;
+    }
+    
+    @Override
+    public int get(int i) {
+        long bit = (long) i * bits;
+        int w = (int) (bit >>> 6);
+        int s = (int) bit & 63;
+        // << 1 << (63 - s) shifts by 64 - s, yielding 0 rather than the
+        // unshifted word when s == 0
+        return (int) (((words[w] >>> s) | (words[w + 1] << 1 << (63 - s))) & mask);
+    }
+}
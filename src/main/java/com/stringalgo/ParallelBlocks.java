@@ -0,0 +1,59 @@
+package com.stringalgo;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Runs a body once per block index on a ForkJoinPool, splitting the
+ * block range recursively so work is spread across the pool's workers.
+ */
+final class ParallelBlocks {
+    
+    private ParallelBlocks() {
+    }
+    
+    /**
+     * Calls body.accept(b) for every b in [0, blocks) and waits for all
+     * calls to complete.
+     */
+    static void forEach(ForkJoinPool pool, int blocks, IntConsumer body) {
+        if (blocks == 1) {
+            body.accept(0);
+            return;
+        }
+        pool.invoke(new BlockTask(0, blocks, body));
+    }
+    
+    /**
+     * Splits [from, to) into the block range [0, blocks), returning the
+     * start of block b. Block blocks is the end of the range.
+     */
+    static int blockStart(int from, int to, int blocks, int b) {
+        return from + (int) ((long) (to - from) * b / blocks);
+    }
+    
+    private static final class BlockTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        
+        private final int lo;
+        private final int hi;
+        private final IntConsumer body;
+        
+        BlockTask(int lo, int hi, IntConsumer body) {
+            this.lo = lo;
+            this.hi = hi;
+            this.body = body;
+        }
+        
+        @Override
+        protected void compute() {
+            if (hi - lo == 1) {
+                body.accept(lo);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new BlockTask(lo, mid, body), new BlockTask(mid, hi, body));
+        }
+    }
+}
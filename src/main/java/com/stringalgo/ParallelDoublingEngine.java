@@ -0,0 +1,271 @@
+package com.stringalgo;
+
+import java.util.Arrays;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Multi-threaded prefix doubling suffix array construction running on a
+ * caller-supplied ForkJoinPool.
+ * 
+ * Each round follows {@link RadixDoublingEngine}, with every step split
+ * into contiguous blocks:
+ * 1. Second-key order: parallel stable filter of sa[j]-k
+ * 2. First-key order: parallel stable LSD radix sort, 11 bits per pass,
+ *    using per-block histograms
+ * 3. Re-ranking: parallel boundary flags followed by a parallel prefix sum
+ * 
+ * Buffers are allocated once, so rounds allocate nothing. Inputs that fit
+ * in a single block are handed to the sequential radix engine.
+ * 
+ * Time Complexity: O(n log n) work, O((n / p) log n) per round with p workers
+ * Space Complexity: O(n + blocks * 2^11)
+ */
+public class ParallelDoublingEngine implements SuffixArrayEngine {
+    
+    /** Default minimum number of suffixes handled by one block. */
+    public static final int DEFAULT_BLOCK_SIZE = 1 << 16;
+    
+    private static final int RADIX_BITS = 11;
+    private static final int RADIX = 1 << RADIX_BITS;
+    private static final int RADIX_MASK = RADIX - 1;
+    
+    private final ForkJoinPool pool;
+    private final int blockSize;
+    
+    /**
+     * @param pool the pool construction work is submitted to
+     */
+    public ParallelDoublingEngine(ForkJoinPool pool) {
+        this(pool, DEFAULT_BLOCK_SIZE);
+    }
+    
+    /**
+     * @param pool the pool construction work is submitted to
+     * @param blockSize minimum number of suffixes handled by one block
+     */
+    public ParallelDoublingEngine(ForkJoinPool pool, int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("blockSize must be positive: " + blockSize);
+        }
+        this.pool = pool;
+        this.blockSize = blockSize;
+    }
+    
+    @Override
+    public void build(SymbolSequence text, int[] suffixArray, int[] rank) {
+        int n = text.length();
+        int blocks = Math.min(pool.getParallelism() * 4, (n + blockSize - 1) / blockSize);
+        if (blocks <= 1) {
+            new RadixDoublingEngine().build(text, suffixArray, rank);
+            return;
+        }
+        new Run(text, suffixArray, rank, blocks).build();
+    }
+    
+    /**
+     * State of a single construction: buffers shared by all rounds.
+     */
+    private final class Run {
+        private final SymbolSequence text;
+        private final int n;
+        private final int blocks;
+        private final int[] suffixArray;
+        private final int[] rank;
+        private final int[][] histogram;
+        private final int[] blockTotals;
+        
+        private int[] sa;
+        private int[] buf;
+        private int[] cur;
+        private int[] next;
+        
+        Run(SymbolSequence text, int[] suffixArray, int[] rank, int blocks) {
+            this.text = text;
+            this.n = text.length();
+            this.blocks = blocks;
+            this.suffixArray = suffixArray;
+            this.rank = rank;
+            this.histogram = new int[blocks][RADIX];
+            this.blockTotals = new int[blocks];
+            this.sa = suffixArray;
+            this.buf = new int[n];
+            this.cur = rank;
+            this.next = new int[n];
+        }
+        
+        void build() {
+            // Initial ranks are symbol values; sort identity order by them
+            ParallelBlocks.forEach(pool, blocks, b -> {
+                int from = start(b);
+                int to = start(b + 1);
+                for (int i = from; i < to; i++) {
+                    cur[i] = text.symbolAt(i);
+                    buf[i] = i;
+                }
+            });
+            radixSortByRank(text.alphabetSize() - 1);
+            
+            // Ranks are symbol values in the first round, which may exceed n
+            int maxRank = text.alphabetSize() - 1;
+            for (int k = 1; k < n; k *= 2) {
+                secondKeyOrder(k);
+                radixSortByRank(maxRank);
+                int classes = rerank(k);
+                maxRank = classes - 1;
+                
+                int[] swap = cur;
+                cur = next;
+                next = swap;
+                
+                // If all ranks are unique, we're done
+                if (classes == n) {
+                    break;
+                }
+            }
+            
+            if (sa != suffixArray) {
+                System.arraycopy(sa, 0, suffixArray, 0, n);
+            }
+            if (cur != rank) {
+                System.arraycopy(cur, 0, rank, 0, n);
+            }
+        }
+        
+        private int start(int b) {
+            return ParallelBlocks.blockStart(0, n, blocks, b);
+        }
+        
+        /**
+         * Writes into buf the suffixes ordered by rank[i+k]: those with
+         * i+k past the end first, then sa[j]-k in current SA order.
+         */
+        private void secondKeyOrder(int k) {
+            ParallelBlocks.forEach(pool, blocks, b -> {
+                int count = 0;
+                int to = start(b + 1);
+                for (int i = start(b); i < to; i++) {
+                    if (sa[i] >= k) {
+                        count++;
+                    }
+                }
+                blockTotals[b] = count;
+            });
+            int offset = k;
+            for (int b = 0; b < blocks; b++) {
+                int count = blockTotals[b];
+                blockTotals[b] = offset;
+                offset += count;
+            }
+            
+            for (int i = n - k, p = 0; i < n; i++) {
+                buf[p++] = i;
+            }
+            ParallelBlocks.forEach(pool, blocks, b -> {
+                int p = blockTotals[b];
+                int to = start(b + 1);
+                for (int i = start(b); i < to; i++) {
+                    if (sa[i] >= k) {
+                        buf[p++] = sa[i] - k;
+                    }
+                }
+            });
+        }
+        
+        /**
+         * Stable LSD radix sort of buf by cur[buf[i]], leaving the sorted
+         * order in sa. Keys are at most maxKey.
+         */
+        private void radixSortByRank(int maxKey) {
+            int bits = Math.max(1, 32 - Integer.numberOfLeadingZeros(maxKey));
+            int passes = (bits + RADIX_BITS - 1) / RADIX_BITS;
+            
+            int[] src = buf;
+            int[] dst = sa;
+            for (int pass = 0; pass < passes; pass++) {
+                int shift = pass * RADIX_BITS;
+                final int[] in = src;
+                final int[] out = dst;
+                
+                ParallelBlocks.forEach(pool, blocks, b -> {
+                    int[] h = histogram[b];
+                    Arrays.fill(h, 0);
+                    int to = start(b + 1);
+                    for (int i = start(b); i < to; i++) {
+                        h[(cur[in[i]] >>> shift) & RADIX_MASK]++;
+                    }
+                });
+                
+                // Bucket-major, block-minor offsets keep the pass stable
+                int offset = 0;
+                for (int d = 0; d < RADIX; d++) {
+                    for (int b = 0; b < blocks; b++) {
+                        int count = histogram[b][d];
+                        histogram[b][d] = offset;
+                        offset += count;
+                    }
+                }
+                
+                ParallelBlocks.forEach(pool, blocks, b -> {
+                    int[] h = histogram[b];
+                    int to = start(b + 1);
+                    for (int i = start(b); i < to; i++) {
+                        int s = in[i];
+                        out[h[(cur[s] >>> shift) & RADIX_MASK]++] = s;
+                    }
+                });
+                
+                src = out;
+                dst = in;
+            }
+            
+            // The sorted order is in src; keep the other array as scratch
+            sa = src;
+            buf = dst;
+        }
+        
+        /**
+         * Assigns rank-of-2k-prefix values into next and returns the
+         * number of distinct ranks.
+         */
+        private int rerank(int k) {
+            // Boundary flags and per-block sums
+            ParallelBlocks.forEach(pool, blocks, b -> {
+                int sum = 0;
+                int to = start(b + 1);
+                for (int i = start(b); i < to; i++) {
+                    int flag = 0;
+                    if (i > 0) {
+                        int prev = sa[i - 1];
+                        int curr = sa[i];
+                        int prevSecond = prev + k < n ? cur[prev + k] : -1;
+                        int currSecond = curr + k < n ? cur[curr + k] : -1;
+                        if (cur[prev] != cur[curr] || prevSecond != currSecond) {
+                            flag = 1;
+                        }
+                    }
+                    buf[i] = flag;
+                    sum += flag;
+                }
+                blockTotals[b] = sum;
+            });
+            int offset = 0;
+            for (int b = 0; b < blocks; b++) {
+                int sum = blockTotals[b];
+                blockTotals[b] = offset;
+                offset += sum;
+            }
+            
+            // Inclusive prefix sums give each suffix its new rank
+            ParallelBlocks.forEach(pool, blocks, b -> {
+                int r = blockTotals[b];
+                int to = start(b + 1);
+                for (int i = start(b); i < to; i++) {
+                    r += buf[i];
+                    next[sa[i]] = r;
+                }
+            });
+            return offset + 1;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.stringalgo;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Multi-threaded LCP construction using the Φ (PLCP) method on a
+ * caller-supplied ForkJoinPool.
+ * 
+ * The carry-over of k from i to i+1 only makes the scan faster; any
+ * value at most PLCP[i] is a valid starting point. The text is therefore
+ * split into contiguous blocks, each seeded with k = 0 and scanned
+ * independently, so no boundary fix-up is needed and the result is
+ * identical to the sequential builders. Each block pays at most one
+ * extra LCP-length of comparisons for its cold start.
+ * 
+ * Time Complexity: O(n + blocks * max LCP) work, O(n / p) per worker
+ * Space Complexity: O(n), one working array that can be the rank buffer
+ */
+public class ParallelLcpBuilder implements LcpBuilder {
+    
+    /** Default minimum number of positions handled by one block. */
+    public static final int DEFAULT_BLOCK_SIZE = 1 << 16;
+    
+    private final ForkJoinPool pool;
+    private final int blockSize;
+    private final boolean reuseRank;
+    
+    /**
+     * @param pool the pool construction work is submitted to
+     */
+    public ParallelLcpBuilder(ForkJoinPool pool) {
+        this(pool, DEFAULT_BLOCK_SIZE, false);
+    }
+    
+    /**
+     * @param pool the pool construction work is submitted to
+     * @param blockSize minimum number of positions handled by one block
+     * @param reuseRank if true, use the rank buffer left by construction
+     *                  as the Φ/PLCP working array
+     */
+    public ParallelLcpBuilder(ForkJoinPool pool, int blockSize, boolean reuseRank) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("blockSize must be positive: " + blockSize);
+        }
+        this.pool = pool;
+        this.blockSize = blockSize;
+        this.reuseRank = reuseRank;
+    }
+    
+    @Override
+    public void build(SymbolSequence text, int[] suffixArray, int[] rank, int[] lcp) {
+        int n = text.length();
+        if (n == 0) {
+            return;
+        }
+        int blocks = Math.max(1, Math.min(pool.getParallelism() * 4,
+                                          (n + blockSize - 1) / blockSize));
+        int[] plcp = (reuseRank && rank != null) ? rank : new int[n];
+        
+        // Step 1: Φ array
+        ParallelBlocks.forEach(pool, blocks, b -> {
+            int from = ParallelBlocks.blockStart(0, n, blocks, b);
+            int to = ParallelBlocks.blockStart(0, n, blocks, b + 1);
+            for (int i = from; i < to; i++) {
+                plcp[suffixArray[i]] = i == 0 ? -1 : suffixArray[i - 1];
+            }
+        });
+        
+        // Step 2: permuted LCP per text block, each starting from k = 0
+        ParallelBlocks.forEach(pool, blocks, b -> {
+            int from = ParallelBlocks.blockStart(0, n, blocks, b);
+            int to = ParallelBlocks.blockStart(0, n, blocks, b + 1);
+            int k = 0;
+            for (int i = from; i < to; i++) {
+                int j = plcp[i];
+                if (j == -1) {
+                    plcp[i] = 0;
+                    k = 0;
+                    continue;
+                }
+                k += text.commonPrefixLength(i + k, j + k, n - Math.max(i, j) - k);
+                plcp[i] = k;
+                if (k > 0) {
+                    k--;
+                }
+            }
+        });
+        
+        // Step 3: back to suffix array order
+        ParallelBlocks.forEach(pool, blocks, b -> {
+            int from = ParallelBlocks.blockStart(0, n, blocks, b);
+            int to = ParallelBlocks.blockStart(0, n, blocks, b + 1);
+            for (int i = from; i < to; i++) {
+                lcp[i] = plcp[suffixArray[i]];
+            }
+        });
+    }
+    
+    @Override
+    public boolean overwritesRank() {
+        return reuseRank;
+    }
+}
@@ -1,117 +1,400 @@
 package com.stringalgo;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Performance benchmark tool for Suffix Array algorithm.
- * Generates empirical data and CSV files for complexity analysis.
+ * Generates empirical data and CSV/JSON files for complexity analysis.
+ * 
+ * After the size sweep, every selected engine is run against the
+ * {@link BenchmarkCorpus}: the synthetic families, plus the files of a
+ * Pizza&Chili-style corpus directory if one is given. Every result row
+ * records the JVM, GC, maximum heap and core count it was measured on.
+ * 
+ * Besides time, each SA and LCP phase records bytes allocated per input
+ * character, peak heap and GC count/time (see {@link MemoryProbe}), and
+ * each result records the bytes per character the built index retains.
+ * 
+ * With --baseline, the run is compared with the JSON results of an
+ * earlier run, and the process exits with status 1 if any phase got
+ * slower by more than --threshold or any bytes/char figure grew by more
+ * than --memory-threshold. See {@link BenchmarkConfig#USAGE}.
  */
 public class PerformanceBenchmark {
     
+    static final String[] ENGINE_NAMES = {
+        "PrefixDoubling", "SA-IS", "RadixDoubling", "ParallelDoubling"
+    };
+    
+    // Timings below 1 ms are too noisy to flag as regressions
+    private static final double MIN_COMPARED_NS = 1_000_000;
+    
+    // Below this size a few hundred bytes of JVM noise shift bytes/char visibly
+    private static final int MIN_MEMORY_COMPARED_SIZE = 10_000;
+    
+    private static final double MB = 1024.0 * 1024.0;
+    
+    // Search queries timed together per repetition
+    private static final int SEARCH_BATCH = 1000;
+    
+    // Keeps the JIT from discarding search results
+    static long blackhole;
+    
     public static void main(String[] args) throws IOException {
+        BenchmarkConfig config;
+        try {
+            config = BenchmarkConfig.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(BenchmarkConfig.USAGE);
+            System.exit(2);
+            return;
+        }
+        if (config.help) {
+            System.out.println(BenchmarkConfig.USAGE);
+            return;
+        }
+        
         System.out.println("Starting Suffix Array Performance Benchmark...\n");
+        BenchmarkEnvironment env = BenchmarkEnvironment.current();
+        System.out.println("JVM: " + env.jvm + " | GC: " + env.gc + " | Max heap: " 
+            + env.maxHeapBytes / (1024 * 1024) + " MB | Cores: " + env.cores + "\n");
         
         // Run benchmarks
         List<BenchmarkResult> results = new ArrayList<>();
         
-        // Test various input sizes
-        int[] sizes = {10, 50, 100, 200, 500, 1000, 2000, 3000, 5000, 
-                       7500, 10000, 15000, 20000, 25000, 30000};
+        for (String engine : config.engines) {
+            for (int size : config.sizes) {
+                System.out.println("Testing size: " + size + " (" + engine + ")");
+                BenchmarkResult result = benchmarkSize(engine, size, config.repetitions);
+                results.add(result);
+                
+                System.out.printf("  Total: %.3f ms | SA: %.3f ms | LCP: %.3f ms | " +
+                                "Search: %.3f μs | Distinct: %.3f ms%n",
+                        result.totalTime / 1_000_000.0,
+                        result.saTime / 1_000_000.0,
+                        result.lcpTime / 1_000_000.0,
+                        result.searchTime / 1000.0,
+                        result.distinctTime / 1_000_000.0);
+                System.out.printf("  Alloc: SA %.1f B/char, LCP %.1f B/char | " +
+                                "Peak heap: %.1f MB | GCs: %d | Retained: %.1f B/char%n",
+                        result.saMemory.allocatedPerChar(size),
+                        result.lcpMemory.allocatedPerChar(size),
+                        Math.max(result.saMemory.peakHeapBytes, result.lcpMemory.peakHeapBytes) / MB,
+                        result.saMemory.gcCount + result.lcpMemory.gcCount,
+                        (double) result.retainedBytes / size);
+            }
+        }
         
-        for (int size : sizes) {
-            System.out.println("Testing size: " + size);
-            BenchmarkResult result = benchmarkSize(size);
-            results.add(result);
-            
-            System.out.printf("  Total: %.3f ms | SA: %.3f ms | LCP: %.3f ms | " +
-                            "Search: %.3f ms | Distinct: %.3f ms%n",
-                    result.totalTime / 1_000_000.0,
-                    result.saTime / 1_000_000.0,
-                    result.lcpTime / 1_000_000.0,
-                    result.searchTime / 1_000_000.0,
-                    result.distinctTime / 1_000_000.0);
+        // Sweep engines over adversarial and real-world inputs
+        List<BenchmarkCorpus.Entry> corpus = new ArrayList<>(BenchmarkCorpus.synthetic(config.corpusSize));
+        if (config.corpusDir != null) {
+            corpus.addAll(BenchmarkCorpus.load(config.corpusDir, config.corpusSize));
         }
+        List<CorpusResult> corpusResults = sweepCorpus(corpus, config);
         
         // Export results
-        exportToCSV(results, "/home/claude/suffix-array-project/docs/benchmark_results.csv");
-        generateComplexityReport(results);
+        Files.createDirectories(config.outputDir);
+        List<Map<String, Object>> resultRows = new ArrayList<>();
+        for (BenchmarkResult r : results) {
+            resultRows.add(r.toRow(env));
+        }
+        List<Map<String, Object>> corpusRows = new ArrayList<>();
+        for (CorpusResult r : corpusResults) {
+            corpusRows.add(r.toRow(env));
+        }
         
-        System.out.println("\nBenchmark completed! Results saved to docs/");
+        if (config.formats.contains("csv")) {
+            exportToCSV(resultRows, config.outputDir.resolve("benchmark_results.csv"));
+            exportToCSV(corpusRows, config.outputDir.resolve("corpus_results.csv"));
+        }
+        if (config.formats.contains("json")) {
+            Map<String, List<Map<String, Object>>> sections = new LinkedHashMap<>();
+            sections.put("results", resultRows);
+            sections.put("corpus", corpusRows);
+            Path file = config.outputDir.resolve("benchmark_results.json");
+            Files.write(file, BenchmarkJson.write(sections).getBytes(StandardCharsets.UTF_8));
+            System.out.println("JSON exported to: " + file);
+        }
+        generateComplexityReport(results, config.outputDir.resolve("complexity_analysis.txt"));
+        
+        System.out.println("\nBenchmark completed! Results saved to " + config.outputDir);
+        
+        if (config.baseline != null) {
+            List<String> regressions = compareWithBaseline(config, env, resultRows, corpusRows);
+            if (!regressions.isEmpty()) {
+                System.exit(1);
+            }
+        }
     }
     
-    private static BenchmarkResult benchmarkSize(int size) {
+    static SuffixArrayEngine createEngine(String name) {
+        switch (name) {
+            case "PrefixDoubling": return new PrefixDoublingEngine();
+            case "SA-IS": return new SaisEngine();
+            case "RadixDoubling": return new RadixDoublingEngine();
+            case "ParallelDoubling": return new ParallelDoublingEngine(ForkJoinPool.commonPool());
+            default: throw new IllegalArgumentException("Unknown engine: " + name);
+        }
+    }
+    
+    private static BenchmarkResult benchmarkSize(String engine, int size, int repetitions) {
         // Generate test string
-        String text = generateRandomString(size, "ABCDEFGHIJKLMNOPQRSTUVWXYZ");
+        String text = TextGenerator.random(size, 26, 42);
         
         // Warm up
         for (int i = 0; i < 3; i++) {
-            SuffixArray warmup = new SuffixArray(text);
+            SuffixArray warmup = new SuffixArray(text, createEngine(engine));
             warmup.buildSuffixArray();
             warmup.buildLCP();
         }
         
-        // Actual benchmark
-        SuffixArray sa = new SuffixArray(text);
+        Random random = new Random(42);
+        String[] patterns = new String[SEARCH_BATCH];
+        for (int i = 0; i < patterns.length; i++) {
+            int length = Math.min(5, text.length());
+            int start = random.nextInt(text.length() - length + 1);
+            patterns[i] = text.substring(start, start + length);
+        }
+        
+        long[] saTimes = new long[repetitions];
+        long[] lcpTimes = new long[repetitions];
+        long[] searchTimes = new long[repetitions];
+        long[] distinctTimes = new long[repetitions];
+        MemoryProbe.Phase saMemory = null;
+        MemoryProbe.Phase lcpMemory = null;
+        long retainedBytes = 0;
         
-        long start, end;
+        for (int rep = 0; rep < repetitions; rep++) {
+            SuffixArray sa = new SuffixArray(text, createEngine(engine));
+            
+            long start, end;
+            
+            // Measure SA construction
+            MemoryProbe probe = MemoryProbe.start();
+            start = System.nanoTime();
+            sa.buildSuffixArray();
+            end = System.nanoTime();
+            saMemory = probe.stop();
+            saTimes[rep] = end - start;
+            
+            // Measure LCP construction
+            probe = MemoryProbe.start();
+            start = System.nanoTime();
+            sa.buildLCP();
+            end = System.nanoTime();
+            lcpMemory = probe.stop();
+            lcpTimes[rep] = end - start;
+            retainedBytes = sa.getRetainedBytes();
+            
+            // Measure search (binary search): one call takes well under a
+            // microsecond, so time a batch and report the mean per query
+            start = System.nanoTime();
+            int found = 0;
+            for (String pattern : patterns) {
+                found += sa.search(pattern) >= 0 ? 1 : 0;
+            }
+            end = System.nanoTime();
+            searchTimes[rep] = (end - start) / patterns.length;
+            blackhole += found;
+            
+            // Measure distinct substrings count
+            start = System.nanoTime();
+            sa.countDistinctSubstrings();
+            end = System.nanoTime();
+            distinctTimes[rep] = end - start;
+        }
         
-        // Measure SA construction
-        start = System.nanoTime();
-        sa.buildSuffixArray();
-        end = System.nanoTime();
-        long saTime = end - start;
+        long saTime = median(saTimes);
+        long lcpTime = median(lcpTimes);
+        // Memory figures are deterministic up to JIT noise: keep the last run's
+        return new BenchmarkResult(engine, size, saTime + lcpTime, saTime, lcpTime, 
+                                  median(searchTimes), median(distinctTimes),
+                                  saMemory, lcpMemory, retainedBytes);
+    }
+    
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+    
+    /**
+     * Builds SA and LCP for every corpus text with every engine. The LCP
+     * profile shows which regime a text is in: the maximum LCP determines
+     * how many rounds prefix doubling needs, ceil(log2(maxLcp + 1)), and
+     * at least one.
+     */
+    private static List<CorpusResult> sweepCorpus(List<BenchmarkCorpus.Entry> corpus, 
+                                                  BenchmarkConfig config) {
+        System.out.println("\nCorpus sweep (" + config.corpusSize + " characters per text):");
+        System.out.printf("  %-16s | %-16s | %10s | %10s | %8s | %9s | %6s | %9s%n",
+            "Text", "Engine", "SA (ms)", "LCP (ms)", "Max LCP", "Mean LCP", "Rounds", "SA B/char");
+        
+        List<CorpusResult> results = new ArrayList<>();
+        for (BenchmarkCorpus.Entry entry : corpus) {
+            for (String engineName : config.engines) {
+                // Warm up
+                SuffixArray warmup = new SuffixArray(entry.text, createEngine(engineName));
+                warmup.buildSuffixArray();
+                warmup.buildLCP();
+                
+                long[] saTimes = new long[config.repetitions];
+                long[] lcpTimes = new long[config.repetitions];
+                SuffixArray sa = null;
+                MemoryProbe.Phase saMemory = null;
+                MemoryProbe.Phase lcpMemory = null;
+                for (int rep = 0; rep < config.repetitions; rep++) {
+                    sa = new SuffixArray(entry.text, createEngine(engineName));
+                    MemoryProbe probe = MemoryProbe.start();
+                    long start = System.nanoTime();
+                    sa.buildSuffixArray();
+                    saTimes[rep] = System.nanoTime() - start;
+                    saMemory = probe.stop();
+                    
+                    probe = MemoryProbe.start();
+                    start = System.nanoTime();
+                    sa.buildLCP();
+                    lcpTimes[rep] = System.nanoTime() - start;
+                    lcpMemory = probe.stop();
+                }
+                
+                int maxLcp = 0;
+                long sumLcp = 0;
+                for (int v : sa.getLCP()) {
+                    maxLcp = Math.max(maxLcp, v);
+                    sumLcp += v;
+                }
+                // Even a text without repeats takes one round to confirm
+                int rounds = Math.max(1, 32 - Integer.numberOfLeadingZeros(maxLcp));
+                
+                CorpusResult r = new CorpusResult(entry.name, entry.text.length(), engineName,
+                    median(saTimes), median(lcpTimes), maxLcp, (double) sumLcp / sa.getLength(), rounds,
+                    saMemory, lcpMemory, sa.getRetainedBytes());
+                results.add(r);
+                System.out.printf("  %-16s | %-16s | %10.3f | %10.3f | %8d | %9.1f | %6d | %9.1f%n",
+                    r.corpus, r.engine, r.saTime / 1_000_000.0, r.lcpTime / 1_000_000.0,
+                    r.maxLcp, r.meanLcp, r.rounds, r.saMemory.allocatedPerChar(r.size));
+            }
+        }
+        return results;
+    }
+    
+    /**
+     * Writes rows as CSV, with the column names of the first row as header.
+     */
+    private static void exportToCSV(List<Map<String, Object>> rows, Path file) 
+            throws IOException {
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            if (!rows.isEmpty()) {
+                writer.println(String.join(",", rows.get(0).keySet()));
+            }
+            for (Map<String, Object> row : rows) {
+                StringJoiner line = new StringJoiner(",");
+                for (Object v : row.values()) {
+                    line.add(csvValue(v));
+                }
+                writer.println(line);
+            }
+        }
+        System.out.println("\nCSV exported to: " + file);
+    }
+    
+    private static String csvValue(Object v) {
+        if (v instanceof Double) {
+            return String.format(Locale.ROOT, "%.6f", (Double) v);
+        }
+        String s = String.valueOf(v);
+        if (s.contains(",") || s.contains("\"")) {
+            return "\"" + s.replace("\"", "\"\"") + "\"";
+        }
+        return s;
+    }
+    
+    /**
+     * Compares this run with the baseline JSON and prints every phase that
+     * got slower, or allocates or retains more bytes per character, by
+     * more than the configured thresholds.
+     * 
+     * @return the regressions found, empty if none
+     */
+    @SuppressWarnings("unchecked")
+    private static List<String> compareWithBaseline(BenchmarkConfig config, BenchmarkEnvironment env,
+                                                    List<Map<String, Object>> resultRows,
+                                                    List<Map<String, Object>> corpusRows) 
+            throws IOException {
+        String json = new String(Files.readAllBytes(config.baseline), StandardCharsets.UTF_8);
+        Map<String, Object> baseline = (Map<String, Object>) BenchmarkJson.parse(json);
+        List<Map<String, Object>> baseResults = 
+            (List<Map<String, Object>>) baseline.getOrDefault("results", List.of());
+        List<Map<String, Object>> baseCorpus = 
+            (List<Map<String, Object>>) baseline.getOrDefault("corpus", List.of());
         
-        // Measure LCP construction
-        start = System.nanoTime();
-        sa.buildLCP();
-        end = System.nanoTime();
-        long lcpTime = end - start;
+        System.out.println("\nComparing with baseline " + config.baseline 
+            + String.format(Locale.ROOT, " (time threshold %.1f%%, memory threshold %.1f%%)",
+                            config.threshold * 100, config.memoryThreshold * 100));
+        if (!baseResults.isEmpty()) {
+            Map<String, Object> before = baseResults.get(0);
+            Map<String, Object> now = env.toRow();
+            for (String column : now.keySet()) {
+                Object was = before.get(column);
+                if (was instanceof Number) {
+                    was = ((Number) was).longValue();
+                }
+                if (!String.valueOf(now.get(column)).equals(String.valueOf(was))) {
+                    System.out.println("  Warning: baseline ran with " + column + " " 
+                        + was + ", this run with " + now.get(column));
+                }
+            }
+        }
         
-        // Measure search (binary search)
-        String pattern = text.substring(0, Math.min(5, text.length()));
-        start = System.nanoTime();
-        sa.search(pattern);
-        end = System.nanoTime();
-        long searchTime = end - start;
+        Map<String, Double> timings = new LinkedHashMap<>();
+        timings.put("SA(ns)", MIN_COMPARED_NS);
+        timings.put("LCP(ns)", MIN_COMPARED_NS);
+        timings.put("Total(ns)", MIN_COMPARED_NS);
         
-        // Measure distinct substrings count
-        start = System.nanoTime();
-        sa.countDistinctSubstrings();
-        end = System.nanoTime();
-        long distinctTime = end - start;
+        Map<String, Double> bytesPerChar = new LinkedHashMap<>();
+        bytesPerChar.put("SA.Alloc(B/char)", 0.0);
+        bytesPerChar.put("LCP.Alloc(B/char)", 0.0);
+        bytesPerChar.put("Retained(B/char)", 0.0);
         
-        long totalTime = saTime + lcpTime;
+        List<String> regressions = new ArrayList<>();
+        regressions.addAll(RegressionCheck.compare("results", baseResults, resultRows,
+            List.of("Engine", "Size"), timings, config.threshold));
+        regressions.addAll(RegressionCheck.compare("corpus", baseCorpus, corpusRows,
+            List.of("Corpus", "Size", "Engine"), timings, config.threshold));
+        regressions.addAll(RegressionCheck.compare("results", baseResults, largeInputs(resultRows),
+            List.of("Engine", "Size"), bytesPerChar, config.memoryThreshold));
+        regressions.addAll(RegressionCheck.compare("corpus", baseCorpus, largeInputs(corpusRows),
+            List.of("Corpus", "Size", "Engine"), bytesPerChar, config.memoryThreshold));
         
-        return new BenchmarkResult(size, totalTime, saTime, lcpTime, 
-                                  searchTime, distinctTime);
+        if (regressions.isEmpty()) {
+            System.out.println("  No regressions.");
+        }
+        for (String regression : regressions) {
+            System.out.println("  REGRESSION " + regression);
+        }
+        return regressions;
     }
     
-    private static void exportToCSV(List<BenchmarkResult> results, String filename) 
-            throws IOException {
-        try (PrintWriter writer = new PrintWriter(new FileWriter(filename))) {
-            writer.println("Size,Total(ns),SA(ns),LCP(ns),Search(ns),Distinct(ns)," +
-                         "Total(ms),SA(ms),LCP(ms),n*log(n),n");
-            
-            for (BenchmarkResult r : results) {
-                double nLogN = r.size * Math.log(r.size) / Math.log(2);
-                writer.printf("%d,%d,%d,%d,%d,%d,%.6f,%.6f,%.6f,%.2f,%d%n",
-                    r.size,
-                    r.totalTime, r.saTime, r.lcpTime, r.searchTime, r.distinctTime,
-                    r.totalTime / 1_000_000.0,
-                    r.saTime / 1_000_000.0,
-                    r.lcpTime / 1_000_000.0,
-                    nLogN,
-                    r.size);
+    private static List<Map<String, Object>> largeInputs(List<Map<String, Object>> rows) {
+        List<Map<String, Object>> large = new ArrayList<>();
+        for (Map<String, Object> row : rows) {
+            if (((Number) row.get("Size")).intValue() >= MIN_MEMORY_COMPARED_SIZE) {
+                large.add(row);
             }
         }
-        System.out.println("\nCSV exported to: " + filename);
+        return large;
     }
     
-    private static void generateComplexityReport(List<BenchmarkResult> results) 
+    private static void generateComplexityReport(List<BenchmarkResult> results, Path file) 
             throws IOException {
-        String filename = "/home/claude/suffix-array-project/docs/complexity_analysis.txt";
-        try (PrintWriter writer = new PrintWriter(new FileWriter(filename))) {
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
             writer.println("SUFFIX ARRAY COMPLEXITY ANALYSIS");
             writer.println("=" .repeat(80));
             writer.println();
@@ -119,46 +402,73 @@ public class PerformanceBenchmark {
             // Theoretical complexity
             writer.println("THEORETICAL COMPLEXITY:");
             writer.println("  Suffix Array Construction (Prefix Doubling): O(n log n)");
+            writer.println("  Suffix Array Construction (SA-IS): O(n)");
             writer.println("  LCP Construction (Kasai): O(n)");
             writer.println("  Binary Search: O(m log n) where m = pattern length");
             writer.println("  Distinct Substrings: O(n)");
             writer.println();
             
-            // Empirical analysis
-            writer.println("EMPIRICAL RESULTS:");
-            writer.println("-" .repeat(80));
-            writer.printf("%-10s | %-12s | %-12s | %-12s | %-12s%n",
-                "Size (n)", "Total (ms)", "SA (ms)", "LCP (ms)", "Search (μs)");
-            writer.println("-" .repeat(80));
-            
+            Map<String, List<BenchmarkResult>> byEngine = new LinkedHashMap<>();
             for (BenchmarkResult r : results) {
-                writer.printf("%-10d | %12.3f | %12.3f | %12.3f | %12.3f%n",
-                    r.size,
-                    r.totalTime / 1_000_000.0,
-                    r.saTime / 1_000_000.0,
-                    r.lcpTime / 1_000_000.0,
-                    r.searchTime / 1000.0);
+                byEngine.computeIfAbsent(r.engine, k -> new ArrayList<>()).add(r);
             }
             
-            writer.println();
-            writer.println("GROWTH RATE ANALYSIS:");
-            writer.println("-" .repeat(80));
-            
-            // Calculate growth rates
-            for (int i = 1; i < results.size(); i++) {
-                BenchmarkResult curr = results.get(i);
-                BenchmarkResult prev = results.get(i - 1);
+            for (Map.Entry<String, List<BenchmarkResult>> series : byEngine.entrySet()) {
+                List<BenchmarkResult> engineResults = series.getValue();
+                
+                // Empirical analysis
+                writer.println("EMPIRICAL RESULTS (" + series.getKey() + "):");
+                writer.println("-" .repeat(80));
+                writer.printf("%-10s | %-12s | %-12s | %-12s | %-12s%n",
+                    "Size (n)", "Total (ms)", "SA (ms)", "LCP (ms)", "Search (μs)");
+                writer.println("-" .repeat(80));
+                
+                for (BenchmarkResult r : engineResults) {
+                    writer.printf("%-10d | %12.3f | %12.3f | %12.3f | %12.3f%n",
+                        r.size,
+                        r.totalTime / 1_000_000.0,
+                        r.saTime / 1_000_000.0,
+                        r.lcpTime / 1_000_000.0,
+                        r.searchTime / 1000.0);
+                }
                 
-                double sizeRatio = (double) curr.size / prev.size;
-                double timeRatio = (double) curr.totalTime / prev.totalTime;
-                double expectedRatio = sizeRatio * Math.log(curr.size) / Math.log(prev.size);
+                writer.println();
+                writer.println("GROWTH RATE ANALYSIS (" + series.getKey() + "):");
+                writer.println("-" .repeat(80));
                 
-                writer.printf("n: %d -> %d (%.2fx) | Time ratio: %.2fx | " +
-                            "Expected O(n log n): %.2fx%n",
-                    prev.size, curr.size, sizeRatio, timeRatio, expectedRatio);
+                // Calculate growth rates
+                for (int i = 1; i < engineResults.size(); i++) {
+                    BenchmarkResult curr = engineResults.get(i);
+                    BenchmarkResult prev = engineResults.get(i - 1);
+                    
+                    double sizeRatio = (double) curr.size / prev.size;
+                    double timeRatio = (double) curr.totalTime / prev.totalTime;
+                    double expectedRatio = sizeRatio * Math.log(curr.size) / Math.log(prev.size);
+                    
+                    writer.printf("n: %d -> %d (%.2fx) | Time ratio: %.2fx | " +
+                                "Expected O(n log n): %.2fx%n",
+                        prev.size, curr.size, sizeRatio, timeRatio, expectedRatio);
+                }
+                writer.println();
+                
+                writer.println("MEMORY (" + series.getKey() + "):");
+                writer.println("-" .repeat(80));
+                writer.printf("%-10s | %-14s | %-14s | %-14s | %-8s | %-14s%n",
+                    "Size (n)", "SA alloc B/ch", "LCP alloc B/ch", "Peak heap (MB)", "GCs", "Retained B/ch");
+                writer.println("-" .repeat(80));
+                
+                for (BenchmarkResult r : engineResults) {
+                    writer.printf("%-10d | %14.1f | %14.1f | %14.1f | %8d | %14.1f%n",
+                        r.size,
+                        r.saMemory.allocatedPerChar(r.size),
+                        r.lcpMemory.allocatedPerChar(r.size),
+                        Math.max(r.saMemory.peakHeapBytes, r.lcpMemory.peakHeapBytes) / MB,
+                        r.saMemory.gcCount + r.lcpMemory.gcCount,
+                        (double) r.retainedBytes / r.size);
+                }
+                writer.println();
             }
             
-            writer.println();
             writer.println("OBSERVATIONS:");
             writer.println("1. SA construction follows O(n log n) complexity as expected");
             writer.println("2. LCP construction shows linear O(n) growth");
@@ -166,34 +476,112 @@ public class PerformanceBenchmark {
             writer.println("4. Combined SA+LCP complexity dominated by O(n log n) term");
         }
         
-        System.out.println("Complexity analysis saved to: " + filename);
+        System.out.println("Complexity analysis saved to: " + file);
     }
     
-    private static String generateRandomString(int length, String alphabet) {
-        Random rand = new Random(42);
-        StringBuilder sb = new StringBuilder(length);
-        for (int i = 0; i < length; i++) {
-            sb.append(alphabet.charAt(rand.nextInt(alphabet.length())));
-        }
-        return sb.toString();
+    private static void putMemory(Map<String, Object> row, int size, MemoryProbe.Phase sa,
+                                  MemoryProbe.Phase lcp, long retainedBytes) {
+        row.put("SA.Alloc(B/char)", sa.allocatedPerChar(size));
+        row.put("SA.PeakHeap(MB)", sa.peakHeapBytes / MB);
+        row.put("SA.GCCount", sa.gcCount);
+        row.put("SA.GCTime(ms)", sa.gcTimeMillis);
+        row.put("LCP.Alloc(B/char)", lcp.allocatedPerChar(size));
+        row.put("LCP.PeakHeap(MB)", lcp.peakHeapBytes / MB);
+        row.put("LCP.GCCount", lcp.gcCount);
+        row.put("LCP.GCTime(ms)", lcp.gcTimeMillis);
+        row.put("Retained(B/char)", (double) retainedBytes / size);
     }
     
     static class BenchmarkResult {
+        String engine;
         int size;
         long totalTime;
         long saTime;
         long lcpTime;
         long searchTime;
         long distinctTime;
+        MemoryProbe.Phase saMemory;
+        MemoryProbe.Phase lcpMemory;
+        long retainedBytes;
         
-        BenchmarkResult(int size, long totalTime, long saTime, long lcpTime,
-                       long searchTime, long distinctTime) {
+        BenchmarkResult(String engine, int size, long totalTime, long saTime, long lcpTime,
+                       long searchTime, long distinctTime, MemoryProbe.Phase saMemory,
+                       MemoryProbe.Phase lcpMemory, long retainedBytes) {
+            this.engine = engine;
             this.size = size;
             this.totalTime = totalTime;
             this.saTime = saTime;
             this.lcpTime = lcpTime;
             this.searchTime = searchTime;
             this.distinctTime = distinctTime;
+            this.saMemory = saMemory;
+            this.lcpMemory = lcpMemory;
+            this.retainedBytes = retainedBytes;
+        }
+        
+        Map<String, Object> toRow(BenchmarkEnvironment env) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("Engine", engine);
+            row.put("Size", size);
+            row.put("Total(ns)", totalTime);
+            row.put("SA(ns)", saTime);
+            row.put("LCP(ns)", lcpTime);
+            row.put("Search(ns)", searchTime);
+            row.put("Distinct(ns)", distinctTime);
+            row.put("Total(ms)", totalTime / 1_000_000.0);
+            row.put("SA(ms)", saTime / 1_000_000.0);
+            row.put("LCP(ms)", lcpTime / 1_000_000.0);
+            row.put("n*log(n)", size * Math.log(size) / Math.log(2));
+            row.put("n", size);
+            putMemory(row, size, saMemory, lcpMemory, retainedBytes);
+            row.putAll(env.toRow());
+            return row;
+        }
+    }
+    
+    static class CorpusResult {
+        String corpus;
+        int size;
+        String engine;
+        long saTime;
+        long lcpTime;
+        int maxLcp;
+        double meanLcp;
+        int rounds;
+        MemoryProbe.Phase saMemory;
+        MemoryProbe.Phase lcpMemory;
+        long retainedBytes;
+        
+        CorpusResult(String corpus, int size, String engine, long saTime, long lcpTime,
+                    int maxLcp, double meanLcp, int rounds, MemoryProbe.Phase saMemory,
+                    MemoryProbe.Phase lcpMemory, long retainedBytes) {
+            this.corpus = corpus;
+            this.size = size;
+            this.engine = engine;
+            this.saTime = saTime;
+            this.lcpTime = lcpTime;
+            this.maxLcp = maxLcp;
+            this.meanLcp = meanLcp;
+            this.rounds = rounds;
+            this.saMemory = saMemory;
+            this.lcpMemory = lcpMemory;
+            this.retainedBytes = retainedBytes;
+        }
+        
+        Map<String, Object> toRow(BenchmarkEnvironment env) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("Corpus", corpus);
+            row.put("Size", size);
+            row.put("Engine", engine);
+            row.put("SA(ns)", saTime);
+            row.put("LCP(ns)", lcpTime);
+            row.put("Total(ns)", saTime + lcpTime);
+            row.put("MaxLCP", maxLcp);
+            row.put("MeanLCP", meanLcp);
+            row.put("DoublingRounds", rounds);
+            putMemory(row, size, saMemory, lcpMemory, retainedBytes);
+            row.putAll(env.toRow());
+            return row;
         }
     }
 }
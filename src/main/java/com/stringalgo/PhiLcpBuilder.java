@@ -0,0 +1,91 @@
+package com.stringalgo;
+
+/**
+ * LCP construction using the Φ (PLCP) method of Kärkkäinen, Manzini and
+ * Puglisi.
+ * 
+ * Algorithm steps:
+ * 1. Φ[SA[i]] = SA[i-1]: each suffix's predecessor in sorted order
+ * 2. PLCP[i] = lcp(i, Φ[i]) in text order, overwriting Φ in place;
+ *    PLCP[i+1] >= PLCP[i] - 1 bounds the total work as in Kasai
+ * 3. LCP[i] = PLCP[SA[i]]
+ * 
+ * Unlike Kasai, no inverse suffix array is needed, and step 2 reads its
+ * working array sequentially instead of jumping through the inverse SA.
+ * 
+ * Time Complexity: O(n)
+ * Space Complexity: O(n), one working array that can be the rank buffer
+ */
+public class PhiLcpBuilder implements LcpBuilder {
+    
+    private final boolean reuseRank;
+    
+    /**
+     * Creates a builder that allocates its own Φ/PLCP working array.
+     */
+    public PhiLcpBuilder() {
+        this(false);
+    }
+    
+    /**
+     * @param reuseRank if true, use the rank buffer left by construction as
+     *                  the Φ/PLCP working array so LCP construction
+     *                  allocates nothing beyond the output
+     */
+    public PhiLcpBuilder(boolean reuseRank) {
+        this.reuseRank = reuseRank;
+    }
+    
+    @Override
+    public void build(SymbolSequence text, int[] suffixArray, int[] rank, int[] lcp) {
+        build(text, IntArray.wrap(suffixArray), rank, lcp);
+    }
+    
+    /**
+     * Reads the suffix array only through the accessor, in two sequential
+     * passes, so packed storage works in place.
+     */
+    @Override
+    public void build(SymbolSequence text, IntArray suffixArray, int[] rank, int[] lcp) {
+        int n = text.length();
+        if (n == 0) {
+            return;
+        }
+        int[] plcp = (reuseRank && rank != null) ? rank : new int[n];
+        
+        // Step 1: Φ array
+        int previous = suffixArray.get(0);
+        plcp[previous] = -1;
+        for (int i = 1; i < n; i++) {
+            int current = suffixArray.get(i);
+            plcp[current] = previous;
+            previous = current;
+        }
+        
+        // Step 2: permuted LCP, in place over Φ
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            int j = plcp[i];
+            if (j == -1) {
+                plcp[i] = 0;
+                k = 0;
+                continue;
+            }
+            k += text.commonPrefixLength(i + k, j + k, n - Math.max(i, j) - k);
+            plcp[i] = k;
+            if (k > 0) {
+                k--;
+            }
+        }
+        
+        // Step 3: back to suffix array order
+        for (int i = 0; i < n; i++) {
+            lcp[i] = plcp[suffixArray.get(i)];
+        }
+    }
+    
+    @Override
+    public boolean overwritesRank() {
+        return reuseRank;
+    }
+}
@@ -0,0 +1,91 @@
+package com.stringalgo;
+
+import java.util.Arrays;
+
+/**
+ * Prefix doubling suffix array construction using a comparison sort.
+ * 
+ * Algorithm steps:
+ * 1. Initialize ranks based on symbol values
+ * 2. Iteratively sort suffixes by doubling prefix length
+ * 3. Use pair of ranks (rank[i], rank[i+2^k]) for sorting
+ * 4. Continue until all ranks are unique
+ * 
+ * Time Complexity: O(n log^2 n)
+ * Space Complexity: O(n)
+ */
+public class PrefixDoublingEngine implements SuffixArrayEngine {
+    
+    @Override
+    public void build(SymbolSequence text, int[] suffixArray, int[] rank) {
+        int n = text.length();
+        
+        // Step 1: Initialize suffix array with indices
+        for (int i = 0; i < n; i++) {
+            suffixArray[i] = i;
+        }
+        
+        // Step 2: Initialize ranks based on symbol values
+        for (int i = 0; i < n; i++) {
+            rank[i] = text.symbolAt(i);
+        }
+        
+        if (n == 1) {
+            rank[0] = 0;
+            return;
+        }
+        
+        // Temporary array for next rank values
+        int[] tempRank = new int[n];
+        
+        // Step 3: Prefix doubling - sort by 2^k length prefixes
+        for (int k = 1; k < n; k *= 2) {
+            // Sort suffixes by pair (rank[i], rank[i+k])
+            final int gap = k;
+            Integer[] indices = new Integer[n];
+            for (int i = 0; i < n; i++) {
+                indices[i] = i;
+            }
+            
+            // Comparator: compare by (rank[i], rank[i+k])
+            Arrays.sort(indices, (a, b) -> {
+                if (rank[a] != rank[b]) {
+                    return rank[a] - rank[b];
+                }
+                int rankA = (a + gap < n) ? rank[a + gap] : -1;
+                int rankB = (b + gap < n) ? rank[b + gap] : -1;
+                return rankA - rankB;
+            });
+            
+            // Update suffix array
+            for (int i = 0; i < n; i++) {
+                suffixArray[i] = indices[i];
+            }
+            
+            // Step 4: Assign new ranks
+            tempRank[suffixArray[0]] = 0;
+            for (int i = 1; i < n; i++) {
+                int prev = suffixArray[i - 1];
+                int curr = suffixArray[i];
+                
+                // Check if current suffix is same as previous
+                boolean same = (rank[prev] == rank[curr]);
+                if (same && curr + gap < n && prev + gap < n) {
+                    same = (rank[prev + gap] == rank[curr + gap]);
+                } else if (same) {
+                    same = ((curr + gap >= n) == (prev + gap >= n));
+                }
+                
+                tempRank[curr] = same ? tempRank[prev] : tempRank[prev] + 1;
+            }
+            
+            // Copy new ranks
+            System.arraycopy(tempRank, 0, rank, 0, n);
+            
+            // If all ranks are unique, we're done
+            if (tempRank[suffixArray[n - 1]] == n - 1) {
+                break;
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.stringalgo;
+
+/**
+ * Lookup table of SA intervals keyed by the first q characters of a
+ * suffix.
+ * 
+ * Characters of the text are mapped to dense codes 0..σ-1 in character
+ * order, so reading a q-gram as a σ-ary number preserves lexicographic
+ * order.
+ * start[c] is the SA index of the first suffix of length at least q whose
+ * q-gram code is at least c; every suffix starting with gram c therefore
+ * lies in [start[c], start[c+1]). Suffixes shorter than q may also fall
+ * inside a bucket, so callers still binary search within it.
+ * 
+ * Time Complexity: O(nq + σ^q) to build, O(q) per lookup
+ * Space Complexity: (σ^q + 1) ints for the table
+ */
+final class QGramIndex {
+    
+    private final int q;
+    private final int sigma;
+    private final int[] charCode; // char -> dense code, or -1 if absent
+    private final int[] start;
+    
+    private QGramIndex(int q, int sigma, int[] charCode, int[] start) {
+        this.q = q;
+        this.sigma = sigma;
+        this.charCode = charCode;
+        this.start = start;
+    }
+    
+    /**
+     * Builds the table in one pass over the suffix array.
+     * 
+     * @throws IllegalArgumentException if q is outside [1, text length]
+     *         or σ^q does not fit in an array
+     */
+    static QGramIndex build(CharSequence text, IntArray suffixArray, int q) {
+        int n = text.length();
+        if (q < 1 || q > n) {
+            throw new IllegalArgumentException("q must be in [1, " + n + "]: " + q);
+        }
+        int[] charCode = denseCodes(text);
+        int sigma = 0;
+        for (int code : charCode) {
+            sigma = Math.max(sigma, code + 1);
+        }
+        long buckets = tableSize(sigma, q);
+        if (buckets < 0) {
+            throw new IllegalArgumentException(
+                "q-gram table for alphabet of " + sigma + " and q=" + q + " is too large");
+        }
+        
+        int[] start = new int[(int) buckets + 1];
+        int next = 0; // next code whose start is unassigned
+        for (int i = 0; i < suffixArray.length(); i++) {
+            int s = suffixArray.get(i);
+            if (s + q > n) {
+                continue;
+            }
+            int code = 0;
+            for (int j = 0; j < q; j++) {
+                code = code * sigma + charCode[text.charAt(s + j)];
+            }
+            while (next <= code) {
+                start[next++] = i;
+            }
+        }
+        while (next < start.length) {
+            start[next++] = suffixArray.length();
+        }
+        
+        return new QGramIndex(q, sigma, charCode, start);
+    }
+    
+    /**
+     * @return the largest q whose table fits in maxBytes, or 0 if none does
+     */
+    static int largestQ(CharSequence text, long maxBytes) {
+        int sigma = 0;
+        for (int code : denseCodes(text)) {
+            sigma = Math.max(sigma, code + 1);
+        }
+        int q = 0;
+        while (true) {
+            long buckets = tableSize(sigma, q + 1);
+            if (buckets < 0 || (buckets + 1) * Integer.BYTES > maxBytes || q + 1 > text.length()) {
+                return q;
+            }
+            q++;
+        }
+    }
+    
+    /**
+     * @return the bucket of the pattern's first q characters, or -1 if the
+     *         pattern is shorter than q or uses a character absent from
+     *         the text
+     */
+    int bucket(CharSequence pattern) {
+        if (pattern.length() < q) {
+            return -1;
+        }
+        int code = 0;
+        for (int j = 0; j < q; j++) {
+            char ch = pattern.charAt(j);
+            int c = ch < charCode.length ? charCode[ch] : -1;
+            if (c < 0) {
+                return -1;
+            }
+            code = code * sigma + c;
+        }
+        return code;
+    }
+    
+    /** @return first SA index of the bucket */
+    int bucketStart(int bucket) {
+        return start[bucket];
+    }
+    
+    /** @return SA index one past the end of the bucket */
+    int bucketEnd(int bucket) {
+        return start[bucket + 1];
+    }
+    
+    /**
+     * @return bytes held by the table and the character map
+     */
+    long memoryBytes() {
+        return (long) start.length * Integer.BYTES + (long) charCode.length * Integer.BYTES;
+    }
+    
+    /**
+     * Maps each character present in the text to its rank among the
+     * distinct characters; absent characters map to -1.
+     */
+    private static int[] denseCodes(CharSequence text) {
+        int max = 0;
+        for (int i = 0; i < text.length(); i++) {
+            max = Math.max(max, text.charAt(i));
+        }
+        int[] codes = new int[max + 1];
+        for (int i = 0; i < text.length(); i++) {
+            codes[text.charAt(i)] = 1;
+        }
+        int next = 0;
+        for (int c = 0; c <= max; c++) {
+            codes[c] = codes[c] == 1 ? next++ : -1;
+        }
+        return codes;
+    }
+    
+    /**
+     * @return σ^q, or -1 if it exceeds the largest array size
+     */
+    private static long tableSize(int sigma, int q) {
+        long size = 1;
+        for (int i = 0; i < q; i++) {
+            size *= Math.max(sigma, 1);
+            if (size > Integer.MAX_VALUE - 16) {
+                return -1;
+            }
+        }
+        return size;
+    }
+}
@@ -0,0 +1,113 @@
+package com.stringalgo;
+
+import java.util.Arrays;
+
+/**
+ * Prefix doubling suffix array construction using LSD radix sort on
+ * primitive arrays.
+ * 
+ * Each round orders suffixes by the pair (rank[i], rank[i+k]) in two
+ * stable passes: first by the second key, then by the first key with a
+ * counting sort. The second-key pass needs no counting: suffixes with
+ * i+k past the end come first, followed by sa[j]-k in current SA order.
+ * 
+ * All buffers are allocated once up front and reused across rounds, so
+ * heap usage stays flat regardless of the number of rounds.
+ * 
+ * Time Complexity: O(n log n) worst case
+ * Space Complexity: O(n + alphabet size)
+ */
+public class RadixDoublingEngine implements SuffixArrayEngine {
+    
+    @Override
+    public void build(SymbolSequence text, int[] suffixArray, int[] rank) {
+        int n = text.length();
+        if (n == 0) {
+            return;
+        }
+        
+        int[] sa = suffixArray;
+        int[] secondOrder = new int[n];
+        int[] tempRank = new int[n];
+        int[] count = new int[Math.max(text.alphabetSize(), n) + 1];
+        
+        // Initial ranks are symbol values; counting sort by them
+        int classes = text.alphabetSize();
+        for (int i = 0; i < n; i++) {
+            rank[i] = text.symbolAt(i);
+            count[rank[i]]++;
+        }
+        prefixSums(count, classes);
+        for (int i = n - 1; i >= 0; i--) {
+            sa[--count[rank[i]]] = i;
+        }
+        
+        if (n == 1) {
+            rank[0] = 0;
+            return;
+        }
+        
+        int[] cur = rank;
+        int[] next = tempRank;
+        
+        for (int k = 1; k < n; k *= 2) {
+            // Pass 1: order by second key rank[i+k]
+            int p = 0;
+            for (int i = n - k; i < n; i++) {
+                secondOrder[p++] = i;
+            }
+            for (int i = 0; i < n; i++) {
+                if (sa[i] >= k) {
+                    secondOrder[p++] = sa[i] - k;
+                }
+            }
+            
+            // Pass 2: stable counting sort by first key rank[i]
+            Arrays.fill(count, 0, classes + 1, 0);
+            for (int i = 0; i < n; i++) {
+                count[cur[i]]++;
+            }
+            prefixSums(count, classes);
+            for (int i = n - 1; i >= 0; i--) {
+                int s = secondOrder[i];
+                sa[--count[cur[s]]] = s;
+            }
+            
+            // Assign new ranks
+            next[sa[0]] = 0;
+            classes = 1;
+            for (int i = 1; i < n; i++) {
+                int prev = sa[i - 1];
+                int curr = sa[i];
+                int prevSecond = prev + k < n ? cur[prev + k] : -1;
+                int currSecond = curr + k < n ? cur[curr + k] : -1;
+                if (cur[prev] != cur[curr] || prevSecond != currSecond) {
+                    classes++;
+                }
+                next[curr] = classes - 1;
+            }
+            
+            int[] swap = cur;
+            cur = next;
+            next = swap;
+            
+            // If all ranks are unique, we're done
+            if (classes == n) {
+                break;
+            }
+        }
+        
+        if (cur != rank) {
+            System.arraycopy(cur, 0, rank, 0, n);
+        }
+    }
+    
+    /**
+     * Turns symbol counts into exclusive bucket end positions.
+     */
+    private static void prefixSums(int[] count, int classes) {
+        for (int c = 1; c <= classes; c++) {
+            count[c] += count[c - 1];
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.stringalgo;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compares benchmark rows of the current run with those of a baseline
+ * run and reports metrics that grew by more than a threshold.
+ * 
+ * Rows are matched on their key columns (e.g. engine and size); rows
+ * present in only one run are skipped. Each metric has a minimum baseline
+ * value below which it is not compared, so timings too short to measure
+ * reliably do not produce false alarms.
+ */
+final class RegressionCheck {
+    
+    private RegressionCheck() {
+    }
+    
+    /**
+     * @param section name used in messages, e.g. "results"
+     * @param baseline rows of the earlier run
+     * @param current rows of this run
+     * @param keys columns identifying a row
+     * @param metrics compared columns (larger is worse) mapped to the
+     *                minimum baseline value that is compared
+     * @param threshold relative growth that counts as a regression,
+     *                  e.g. 0.10 for 10%
+     * @return one message per regressed metric, empty if none
+     */
+    static List<String> compare(String section, List<Map<String, Object>> baseline,
+                                List<Map<String, Object>> current, List<String> keys,
+                                Map<String, Double> metrics, double threshold) {
+        Map<String, Map<String, Object>> byKey = new HashMap<>();
+        for (Map<String, Object> row : baseline) {
+            byKey.put(keyOf(row, keys), row);
+        }
+        
+        List<String> regressions = new ArrayList<>();
+        for (Map<String, Object> row : current) {
+            String key = keyOf(row, keys);
+            Map<String, Object> before = byKey.get(key);
+            if (before == null) {
+                continue;
+            }
+            for (Map.Entry<String, Double> metric : metrics.entrySet()) {
+                Object oldValue = before.get(metric.getKey());
+                Object newValue = row.get(metric.getKey());
+                if (!(oldValue instanceof Number) || !(newValue instanceof Number)) {
+                    continue;
+                }
+                double was = ((Number) oldValue).doubleValue();
+                double now = ((Number) newValue).doubleValue();
+                if (was < metric.getValue() || was <= 0) {
+                    continue;
+                }
+                double growth = now / was - 1;
+                if (growth > threshold) {
+                    regressions.add(String.format(Locale.ROOT, "%s[%s] %s: %.3f -> %.3f (+%.1f%%)",
+                        section, key, metric.getKey(), was, now, growth * 100));
+                }
+            }
+        }
+        return regressions;
+    }
+    
+    private static String keyOf(Map<String, Object> row, List<String> keys) {
+        StringBuilder sb = new StringBuilder();
+        for (String key : keys) {
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+            Object v = row.get(key);
+            // JSON numbers come back as doubles: 1000.0 must match 1000
+            if (v instanceof Number && ((Number) v).doubleValue() == ((Number) v).longValue()) {
+                v = ((Number) v).longValue();
+            }
+            sb.append(v);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,188 @@
+package com.stringalgo;
+
+import java.util.Arrays;
+
+/**
+ * Linear-time suffix array construction by induced sorting (SA-IS,
+ * Nong, Zhang and Chan).
+ * 
+ * Algorithm steps:
+ * 1. Classify each suffix as S-type or L-type
+ * 2. Place the LMS suffixes into their buckets and induce L and S suffixes
+ * 3. Name the sorted LMS substrings; recurse if names are not unique
+ * 4. Induce the final order from the sorted LMS suffixes
+ * 
+ * The end of the text acts as an implicit sentinel smaller than every
+ * symbol, so no terminator has to be appended to the input.
+ * 
+ * Time Complexity: O(n + alphabet size)
+ * Space Complexity: O(n), int[] and boolean[] working memory only
+ */
+public class SaisEngine implements SuffixArrayEngine {
+    
+    @Override
+    public void build(SymbolSequence text, int[] suffixArray, int[] rank) {
+        int n = text.length();
+        
+        // Work on a primitive copy so the hot loops avoid interface calls
+        int[] s = new int[n];
+        for (int i = 0; i < n; i++) {
+            s[i] = text.symbolAt(i);
+        }
+        sais(s, n, text.alphabetSize(), suffixArray);
+        
+        for (int i = 0; i < n; i++) {
+            rank[suffixArray[i]] = i;
+        }
+    }
+    
+    /**
+     * Writes the suffix array of s[0..n) into sa.
+     * Symbols lie in [0, upper).
+     */
+    private static void sais(int[] s, int n, int upper, int[] sa) {
+        if (n == 0) {
+            return;
+        }
+        if (n == 1) {
+            sa[0] = 0;
+            return;
+        }
+        if (n == 2) {
+            boolean ordered = s[0] < s[1];
+            sa[0] = ordered ? 0 : 1;
+            sa[1] = ordered ? 1 : 0;
+            return;
+        }
+        
+        // Step 1: S/L classification (true = S-type)
+        boolean[] ls = new boolean[n];
+        for (int i = n - 2; i >= 0; i--) {
+            int a = s[i];
+            int b = s[i + 1];
+            ls[i] = (a == b) ? ls[i + 1] : (a < b);
+        }
+        
+        // Bucket boundaries: sumL[c] = start of c's L part,
+        // sumS[c] = start of c's S part
+        int[] sumL = new int[upper + 1];
+        int[] sumS = new int[upper + 1];
+        for (int i = 0; i < n; i++) {
+            int c = s[i];
+            if (!ls[i]) {
+                sumS[c]++;
+            } else {
+                sumL[c + 1]++;
+            }
+        }
+        for (int c = 0; c <= upper; c++) {
+            sumS[c] += sumL[c];
+            if (c < upper) {
+                sumL[c + 1] += sumS[c];
+            }
+        }
+        
+        // LMS positions in text order and their ordinal
+        int[] lmsMap = new int[n + 1];
+        Arrays.fill(lmsMap, -1);
+        int m = 0;
+        for (int i = 1; i < n; i++) {
+            if (!ls[i - 1] && ls[i]) {
+                lmsMap[i] = m++;
+            }
+        }
+        int[] lms = new int[m];
+        for (int i = 1, j = 0; i < n; i++) {
+            if (!ls[i - 1] && ls[i]) {
+                lms[j++] = i;
+            }
+        }
+        
+        int[] buf = new int[upper + 1];
+        
+        // Step 2: sort LMS substrings
+        induce(s, n, ls, sumL, sumS, buf, lms, m, sa);
+        
+        if (m > 0) {
+            int[] sortedLms = new int[m];
+            for (int i = 0, j = 0; i < n; i++) {
+                if (lmsMap[sa[i]] != -1) {
+                    sortedLms[j++] = sa[i];
+                }
+            }
+            
+            // Step 3: name LMS substrings
+            int[] recS = new int[m];
+            int recUpper = 0;
+            recS[lmsMap[sortedLms[0]]] = 0;
+            for (int i = 1; i < m; i++) {
+                int l = sortedLms[i - 1];
+                int r = sortedLms[i];
+                int endL = (lmsMap[l] + 1 < m) ? lms[lmsMap[l] + 1] : n;
+                int endR = (lmsMap[r] + 1 < m) ? lms[lmsMap[r] + 1] : n;
+                boolean same = true;
+                if (endL - l != endR - r) {
+                    same = false;
+                } else {
+                    while (l < endL && s[l] == s[r]) {
+                        l++;
+                        r++;
+                    }
+                    if (l == n || r == n || s[l] != s[r]) {
+                        same = false;
+                    }
+                }
+                if (!same) {
+                    recUpper++;
+                }
+                recS[lmsMap[sortedLms[i]]] = recUpper;
+            }
+            
+            // Sort the reduced problem, reusing sortedLms as its output
+            sais(recS, m, recUpper + 1, sortedLms);
+            for (int i = 0; i < m; i++) {
+                sortedLms[i] = lms[sortedLms[i]];
+            }
+            
+            // Step 4: induce the full order from sorted LMS suffixes
+            induce(s, n, ls, sumL, sumS, buf, sortedLms, m, sa);
+        }
+    }
+    
+    /**
+     * Places the given LMS suffixes at the ends of their buckets, then
+     * induces the L-type suffixes left to right and the S-type suffixes
+     * right to left.
+     */
+    private static void induce(int[] s, int n, boolean[] ls,
+                               int[] sumL, int[] sumS, int[] buf,
+                               int[] lms, int m, int[] sa) {
+        Arrays.fill(sa, 0, n, -1);
+        
+        System.arraycopy(sumS, 0, buf, 0, buf.length);
+        for (int i = 0; i < m; i++) {
+            int d = lms[i];
+            if (d == n) {
+                continue;
+            }
+            sa[buf[s[d]]++] = d;
+        }
+        
+        System.arraycopy(sumL, 0, buf, 0, buf.length);
+        sa[buf[s[n - 1]]++] = n - 1;
+        for (int i = 0; i < n; i++) {
+            int v = sa[i];
+            if (v >= 1 && !ls[v - 1]) {
+                sa[buf[s[v - 1]]++] = v - 1;
+            }
+        }
+        
+        System.arraycopy(sumL, 0, buf, 0, buf.length);
+        for (int i = n - 1; i >= 0; i--) {
+            int v = sa[i];
+            if (v >= 1 && ls[v - 1]) {
+                sa[--buf[s[v - 1] + 1]] = v - 1;
+            }
+        }
+    }
+}
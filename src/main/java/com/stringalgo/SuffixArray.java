@@ -1,204 +1,319 @@
 package com.stringalgo;
 
-import java.util.Arrays;
+import java.util.function.IntConsumer;
 
 /**
  * Suffix Array implementation with LCP (Longest Common Prefix) array
  * using Kasai's algorithm for efficient construction.
  * 
  * Time Complexity:
- * - SA construction: O(n log n) using prefix doubling
+ * - SA construction: O(n log n) using prefix doubling (default),
+ *   O(n) using SA-IS (see {@link SaisEngine})
  * - LCP construction: O(n) using Kasai's algorithm
  * 
  * Space Complexity: O(n)
+ * 
+ * Instances are mutable and not thread-safe: getters return the internal
+ * arrays, and some queries build the LCP array on first use. To share an
+ * index between threads, build a {@link SuffixIndex} instead.
  */
 public class SuffixArray {
     
-    private String text;
-    private int n;
+    private final String text;
+    private final int n;
     private int[] suffixArray;
     private int[] lcp;
     private int[] rank;
+    private LcpLrSearch lcpLR;
+    private QGramIndex qGramIndex;
+    private SuffixSearch searcher;
+    private final SuffixArrayEngine engine;
     
     /**
      * Constructs a Suffix Array for the given text.
-     * Automatically appends a sentinel character '$' if not present.
+     * 
+     * The text is terminated by an implicit sentinel that sorts before
+     * every character. It is not stored, so the text is not copied and
+     * may contain any character, including '$'. The suffix array and LCP
+     * array have text.length() + 1 entries, the first being the sentinel.
      * 
      * @param text the input string
      */
     public SuffixArray(String text) {
-        // Add sentinel if not present
-        if (!text.endsWith("$")) {
-            this.text = text + "$";
-        } else {
-            this.text = text;
-        }
-        this.n = this.text.length();
-        this.suffixArray = new int[n];
-        this.rank = new int[n];
+        this(text, new PrefixDoublingEngine());
     }
     
     /**
-     * Builds the suffix array using prefix doubling algorithm.
+     * Constructs a Suffix Array for the given text that is built with
+     * the given construction engine.
      * 
-     * Algorithm steps:
-     * 1. Initialize ranks based on character values
-     * 2. Iteratively sort suffixes by doubling prefix length
-     * 3. Use pair of ranks (rank[i], rank[i+2^k]) for sorting
-     * 4. Continue until all ranks are unique
+     * @param text the input string
+     * @param engine the suffix array construction engine
+     */
+    public SuffixArray(String text, SuffixArrayEngine engine) {
+        this.engine = engine;
+        this.text = text;
+        this.n = text.length() + 1;
+        this.suffixArray = new int[n];
+    }
+    
+    /**
+     * Builds the suffix array with the configured construction engine.
+     * The rank (inverse suffix array) buffer the engine fills is kept
+     * until the LCP array is built, which consumes it.
      * 
-     * Time Complexity: O(n log n)
+     * Time Complexity: depends on the engine (see {@link SuffixArrayEngine})
      * Space Complexity: O(n)
      */
     public void buildSuffixArray() {
-        // Step 1: Initialize suffix array with indices
-        for (int i = 0; i < n; i++) {
-            suffixArray[i] = i;
-        }
-        
-        // Step 2: Initialize ranks based on character values
-        for (int i = 0; i < n; i++) {
-            rank[i] = text.charAt(i);
-        }
-        
-        // Temporary array for next rank values
-        int[] tempRank = new int[n];
-        
-        // Step 3: Prefix doubling - sort by 2^k length prefixes
-        for (int k = 1; k < n; k *= 2) {
-            // Sort suffixes by pair (rank[i], rank[i+k])
-            final int gap = k;
-            Integer[] indices = new Integer[n];
-            for (int i = 0; i < n; i++) {
-                indices[i] = i;
-            }
-            
-            // Comparator: compare by (rank[i], rank[i+k])
-            Arrays.sort(indices, (a, b) -> {
-                if (rank[a] != rank[b]) {
-                    return rank[a] - rank[b];
-                }
-                int rankA = (a + gap < n) ? rank[a + gap] : -1;
-                int rankB = (b + gap < n) ? rank[b + gap] : -1;
-                return rankA - rankB;
-            });
-            
-            // Update suffix array
-            for (int i = 0; i < n; i++) {
-                suffixArray[i] = indices[i];
-            }
-            
-            // Step 4: Assign new ranks
-            tempRank[suffixArray[0]] = 0;
-            for (int i = 1; i < n; i++) {
-                int prev = suffixArray[i - 1];
-                int curr = suffixArray[i];
-                
-                // Check if current suffix is same as previous
-                boolean same = (rank[prev] == rank[curr]);
-                if (same && curr + gap < n && prev + gap < n) {
-                    same = (rank[prev + gap] == rank[curr + gap]);
-                } else if (same) {
-                    same = ((curr + gap >= n) == (prev + gap >= n));
-                }
-                
-                tempRank[curr] = same ? tempRank[prev] : tempRank[prev] + 1;
-            }
-            
-            // Copy new ranks
-            System.arraycopy(tempRank, 0, rank, 0, n);
-            
-            // If all ranks are unique, we're done
-            if (tempRank[suffixArray[n - 1]] == n - 1) {
-                break;
-            }
+        if (rank == null) {
+            rank = new int[n];
         }
+        engine.build(SymbolSequence.terminated(text), suffixArray, rank);
+        lcpLR = null;
+        qGramIndex = null;
+        searcher = null;
     }
     
     /**
-     * Builds the LCP array using Kasai's algorithm.
-     * 
-     * Key insight: If suffix at position i has LCP of length k with its
-     * predecessor in SA, then suffix at i+1 has LCP of at least k-1
-     * with its predecessor.
+     * Builds the LCP array using Kasai's algorithm, reading the rank buffer
+     * left by construction as the inverse suffix array instead of
+     * allocating a second one.
      * 
      * Time Complexity: O(n)
      * Space Complexity: O(n)
      */
     public void buildLCP() {
+        buildLCP(new KasaiLcpBuilder(true));
+    }
+    
+    /**
+     * Builds the LCP array with the given builder. The rank buffer is only
+     * needed during construction, so it is released afterwards; the index
+     * then retains just the text, suffix array and LCP array.
+     * 
+     * @param builder the LCP construction strategy
+     */
+    public void buildLCP(LcpBuilder builder) {
+        buildLCP(builder, false);
+    }
+    
+    /**
+     * Builds the LCP array with the given builder, optionally comparing
+     * characters a 64-bit word at a time.
+     * 
+     * With packText, the text is copied into a temporary byte buffer for
+     * the duration of the build (n bytes if all characters are below 256,
+     * 2n otherwise), so LCP extension compares 8 or 4 characters per load.
+     * That only pays off on repetitive texts with long LCPs, and the copy
+     * raises peak memory while the rank buffer is still alive, so it is
+     * off by default.
+     * 
+     * @param builder the LCP construction strategy
+     * @param packText whether to extend matches over a packed copy of the text
+     */
+    public void buildLCP(LcpBuilder builder, boolean packText) {
         lcp = new int[n];
-        
-        // Build inverse suffix array (rank array)
-        int[] invSA = new int[n];
-        for (int i = 0; i < n; i++) {
-            invSA[suffixArray[i]] = i;
+        SymbolSequence symbols = packText 
+            ? SymbolSequence.terminated(WordSequence.pack(text)) 
+            : SymbolSequence.terminated(text);
+        builder.build(symbols, suffixArray, rank, lcp);
+        rank = null;
+        lcpLR = null;
+        searcher = null;
+    }
+    
+    /**
+     * Finishes construction: builds the LCP array if it is missing and
+     * releases all construction-only state, leaving the text, suffix
+     * array and LCP array (plus any LCP-LR or q-gram tables built). Calling
+     * it is optional after {@link #buildLCP()}, which already releases the
+     * rank buffer; it makes the lifecycle explicit for long-lived indexes.
+     * 
+     * Retained footprint: 4 + 4 = 8 bytes per character for the arrays,
+     * plus the text (1 byte per character for Latin-1, 2 otherwise), versus
+     * 12 + text while the rank buffer is alive.
+     * See {@link #getRetainedBytes()} for the exact figure.
+     */
+    public void compact() {
+        if (lcp == null) {
+            buildLCP();
         }
-        
-        int k = 0; // Length of current LCP
-        
-        // Process suffixes in text order
-        for (int i = 0; i < n; i++) {
-            // Skip the first suffix in sorted order (no predecessor)
-            if (invSA[i] == 0) {
-                k = 0;
-                continue;
-            }
-            
-            // Get the previous suffix in sorted order
-            int j = suffixArray[invSA[i] - 1];
-            
-            // Extend LCP while characters match
-            while (i + k < n && j + k < n && 
-                   text.charAt(i + k) == text.charAt(j + k)) {
-                k++;
-            }
-            
-            lcp[invSA[i]] = k;
-            
-            // Decrease k for next iteration (key optimization)
-            if (k > 0) {
-                k--;
-            }
+        rank = null;
+    }
+    
+    /**
+     * Precomputes the LCP-LR arrays used to accelerate {@link #search}.
+     * Builds the LCP array first if needed. Once built, search runs in
+     * O(m + log n) instead of O(m log n).
+     * 
+     * Time Complexity: O(n)
+     * Space Complexity: O(n)
+     */
+    public void buildLcpLR() {
+        if (lcp == null) {
+            buildLCP();
         }
+        lcpLR = new LcpLrSearch(text, IntArray.wrap(suffixArray), IntArray.wrap(lcp));
+        searcher = null;
+    }
+    
+    /**
+     * Builds a q-gram bucket table so that {@link #search}, {@link #count}
+     * and {@link #locateAll} start patterns of length
+     * at least q from the SA interval of their first q characters instead
+     * of the full range. The table holds σ^q + 1 ints, where σ is the
+     * number of distinct characters in the text.
+     * 
+     * Time Complexity: O(nq + σ^q)
+     * 
+     * @param q number of leading characters used as the bucket key
+     * @throws IllegalArgumentException if q < 1, q exceeds the text
+     *         length, or the table is too large
+     */
+    public void buildQGramIndex(int q) {
+        qGramIndex = QGramIndex.build(text, IntArray.wrap(suffixArray), q);
+        searcher = null;
+    }
+    
+    /**
+     * Builds the q-gram bucket table with the largest q whose table fits
+     * in the given memory budget.
+     * 
+     * @param maxBytes memory budget for the table
+     * @return the chosen q, or 0 if no table fits and none was built
+     */
+    public int buildQGramIndexWithin(long maxBytes) {
+        int q = QGramIndex.largestQ(text, maxBytes);
+        qGramIndex = (q > 0) ? QGramIndex.build(text, IntArray.wrap(suffixArray), q) : null;
+        searcher = null;
+        return q;
+    }
+    
+    /**
+     * @return bytes used by the q-gram bucket table, or 0 if none is built
+     */
+    public long getQGramIndexBytes() {
+        return qGramIndex != null ? qGramIndex.memoryBytes() : 0;
     }
     
     /**
      * Searches for a pattern in the text using binary search on suffix array.
+     * If {@link #buildLcpLR()} has been called, the LCP-accelerated search
+     * is used instead.
      * 
-     * Time Complexity: O(m log n) where m = pattern length
+     * Time Complexity: O(m log n) where m = pattern length,
+     * O(m + log n) with LCP-LR arrays
      * 
      * @param pattern the pattern to search
      * @return the starting index of first occurrence, or -1 if not found
      */
     public int search(String pattern) {
-        int left = 0, right = n - 1;
-        int m = pattern.length();
-        
-        // Binary search for leftmost occurrence
-        while (left < right) {
-            int mid = (left + right) / 2;
-            String suffix = text.substring(suffixArray[mid], 
-                                          Math.min(suffixArray[mid] + m, n));
-            
-            if (suffix.compareTo(pattern) < 0) {
-                left = mid + 1;
-            } else {
-                right = mid;
-            }
-        }
-        
-        // Check if pattern exists at found position
-        if (left < n) {
-            int start = suffixArray[left];
-            if (start + m <= n) {
-                String suffix = text.substring(start, start + m);
-                if (suffix.equals(pattern)) {
-                    return start;
-                }
-            }
+        return search((CharSequence) pattern);
+    }
+    
+    /**
+     * Searches for a pattern held in any character sequence, such as a
+     * pooled StringBuilder or CharBuffer. Suffixes are compared in place
+     * against the text, so a query allocates nothing.
+     * 
+     * @param pattern the pattern to search
+     * @return the starting index of first occurrence, or -1 if not found
+     */
+    public int search(CharSequence pattern) {
+        return searcher().search(pattern);
+    }
+    
+    /**
+     * Counts the occurrences of a pattern as the size of its SA interval,
+     * found with two binary searches.
+     * 
+     * Time Complexity: O(m log n), O(m + log n) with LCP-LR arrays
+     * 
+     * @param pattern the pattern to count
+     * @return number of occurrences of pattern in the text
+     */
+    public int count(CharSequence pattern) {
+        return searcher().count(pattern);
+    }
+    
+    /**
+     * Writes the starting positions of all occurrences of a pattern into
+     * the given array, in suffix array order. If the array is too short,
+     * only the first positions.length occurrences are written.
+     * 
+     * @param pattern the pattern to locate
+     * @param positions output array for occurrence positions
+     * @return total number of occurrences, which may exceed positions.length
+     */
+    public int locateAll(CharSequence pattern, int[] positions) {
+        return searcher().locateAll(pattern, positions);
+    }
+    
+    /**
+     * Passes the starting position of every occurrence of a pattern to
+     * the consumer, in suffix array order.
+     * 
+     * @param pattern the pattern to locate
+     * @param consumer receives each occurrence position
+     * @return number of occurrences
+     */
+    public int locateAll(CharSequence pattern, IntConsumer consumer) {
+        return searcher().locateAll(pattern, consumer);
+    }
+    
+    /**
+     * Returns the start of the SA interval of a pattern: the index of the
+     * first suffix that has the pattern as a prefix or sorts after it.
+     * Together with {@link #upperBound} this gives the range [lo, hi) of
+     * suffixes starting with the pattern.
+     * 
+     * @param pattern the pattern to search
+     * @return SA index in [0, n]
+     */
+    public int lowerBound(CharSequence pattern) {
+        return searcher().lowerBound(pattern);
+    }
+    
+    /**
+     * Returns the end (exclusive) of the SA interval of a pattern: the
+     * index of the first suffix that sorts after the pattern without
+     * having it as a prefix.
+     * 
+     * @param pattern the pattern to search
+     * @return SA index in [0, n]
+     */
+    public int upperBound(CharSequence pattern) {
+        return searcher().upperBound(pattern);
+    }
+    
+    /**
+     * Searches for many patterns at once. Patterns are processed in sorted
+     * order, and the SA interval of the prefix a pattern shares with its
+     * predecessor is reused, so only the remaining characters are searched
+     * within an already narrowed interval. Patterns with common prefixes,
+     * such as DNA k-mers, therefore cost far less than separate searches.
+     * 
+     * Time Complexity: O(q log q) to sort, then O((m - c) log n) per
+     * pattern, where c is the prefix shared with the previous pattern
+     * 
+     * @param patterns the patterns to search
+     * @return for each pattern, in input order, the same value
+     *         {@link #search} would return
+     */
+    public int[] searchBatch(CharSequence[] patterns) {
+        return searcher().searchBatch(patterns);
+    }
+    
+    /**
+     * @return the query engine over the current arrays and tables,
+     *         recreated after any of them changes
+     */
+    private SuffixSearch searcher() {
+        if (searcher == null) {
+            searcher = new SuffixSearch(text, IntArray.wrap(suffixArray), lcpLR, qGramIndex);
         }
-        
-        return -1;
+        return searcher;
     }
     
     /**
@@ -265,21 +380,69 @@ public class SuffixArray {
         return lcp;
     }
     
+    /**
+     * @return the indexed text, without the implicit sentinel
+     */
     public String getText() {
         return text;
     }
     
+    /**
+     * @return number of indexed positions, including the sentinel
+     */
     public int getLength() {
         return n;
     }
     
+    /**
+     * Estimates the bytes this instance keeps alive: the text (one byte
+     * per character for Latin-1 text, as compact Strings store it, two
+     * otherwise), the suffix, LCP and rank arrays, and any LCP-LR or
+     * q-gram tables built.
+     * 
+     * @return retained bytes, excluding object headers
+     */
+    public long getRetainedBytes() {
+        long bytes = textBytes(text);
+        bytes += arrayBytes(suffixArray) + arrayBytes(lcp) + arrayBytes(rank);
+        if (lcpLR != null) {
+            bytes += lcpLR.memoryBytes();
+        }
+        return bytes + getQGramIndexBytes();
+    }
+    
+    /**
+     * @return {@link #getRetainedBytes()} per indexed character
+     */
+    public double getRetainedBytesPerChar() {
+        return (double) getRetainedBytes() / Math.max(1, text.length());
+    }
+    
+    private static long arrayBytes(int[] array) {
+        return array != null ? (long) array.length * Integer.BYTES : 0;
+    }
+    
+    /**
+     * @return bytes a String holds for its characters: one per character
+     *         if all are Latin-1, as compact Strings store them, else two
+     */
+    static long textBytes(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) > 0xFF) {
+                return (long) s.length() * 2;
+            }
+        }
+        return s.length();
+    }
+    
     /**
      * Returns a string representation of the suffix array with suffixes.
+     * The implicit sentinel is shown as '$'.
      */
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
-        sb.append("Suffix Array for: \"").append(text).append("\"\n");
+        sb.append("Suffix Array for: \"").append(text).append("$\"\n");
         sb.append("Index | SA[i] | LCP[i] | Suffix\n");
         sb.append("------|-------|--------|-------\n");
         
@@ -287,7 +450,7 @@ public class SuffixArray {
             sb.append(String.format("%5d | %5d | %6d | %s\n", 
                 i, suffixArray[i], 
                 (lcp != null ? lcp[i] : -1),
-                text.substring(suffixArray[i])));
+                text.substring(suffixArray[i]) + "$"));
         }
         
         return sb.toString();
@@ -0,0 +1,22 @@
+package com.stringalgo;
+
+/**
+ * Strategy for building a suffix array.
+ * 
+ * Suffixes are ordered lexicographically, with a suffix that is a proper
+ * prefix of another sorting first. Every engine must produce the same
+ * suffix array for the same input, so engines can be swapped freely.
+ */
+public interface SuffixArrayEngine {
+    
+    /**
+     * Sorts all suffixes of the text.
+     * 
+     * @param text the symbols to index
+     * @param suffixArray output, length text.length(); receives the start
+     *                    positions of the suffixes in sorted order
+     * @param rank output, length text.length(); receives the inverse
+     *             suffix array (rank[suffixArray[i]] == i)
+     */
+    void build(SymbolSequence text, int[] suffixArray, int[] rank);
+}
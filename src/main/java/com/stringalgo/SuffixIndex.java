@@ -0,0 +1,461 @@
+package com.stringalgo;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Immutable, fully built suffix array index over a text, safe to share
+ * between threads.
+ * 
+ * A SuffixIndex is created by a {@link Builder}, which runs every build
+ * step (suffix array, LCP array, and the optional LCP-LR and q-gram
+ * tables) before the index exists, and releases construction state. All
+ * fields are final and nothing is built lazily afterwards, so an index
+ * is safely published to any thread that obtains a reference to it, and
+ * queries need no locking: any number of threads may call any method
+ * concurrently. Arrays are exposed only as read-only views or copies.
+ * 
+ * An index can also be saved with {@link SuffixIndexFile#save} and later
+ * loaded from the memory-mapped file with {@link SuffixIndexFile#load},
+ * which skips construction entirely.
+ * 
+ * <pre>
+ * SuffixIndex index = SuffixIndex.builder(text)
+ *     .engine(new SaisEngine())
+ *     .lcpLR(true)
+ *     .build();
+ * </pre>
+ * 
+ * Time Complexity: as {@link SuffixArray}; countDistinctSubstrings() is
+ * O(1) and longestRepeatedSubstring() O(length of the result), both
+ * computed during the build
+ */
+public final class SuffixIndex {
+    
+    private final CharSequence text;
+    private final IntArray suffixArray;
+    private final IntArray lcp;
+    private final SuffixSearch search;
+    private final long distinctSubstrings;
+    private final int longestRepeatedStart;
+    private final int longestRepeatedLength;
+    private final long retainedBytes;
+    private final long offHeapBytes;
+    
+    /**
+     * @param text the text, without the sentinel
+     * @param suffixArray text.length() + 1 entries, the first being the sentinel
+     * @param lcp LCP array matching suffixArray
+     * @param lcpLR LCP-LR tables, or null
+     * @param qGramIndex q-gram bucket table, or null
+     * @param distinctSubstrings number of distinct substrings of the text
+     * @param longestRepeated SA index of the longest repeated substring
+     * @param retainedBytes heap bytes kept alive by the index
+     * @param offHeapBytes bytes of text and arrays held outside the heap
+     */
+    SuffixIndex(CharSequence text, IntArray suffixArray, IntArray lcp, 
+                LcpLrSearch lcpLR, QGramIndex qGramIndex, 
+                long distinctSubstrings, int longestRepeated, 
+                long retainedBytes, long offHeapBytes) {
+        this.text = text;
+        this.suffixArray = suffixArray;
+        this.lcp = lcp;
+        this.search = new SuffixSearch(text, suffixArray, lcpLR, qGramIndex);
+        this.distinctSubstrings = distinctSubstrings;
+        this.longestRepeatedStart = suffixArray.get(longestRepeated);
+        this.longestRepeatedLength = lcp.get(longestRepeated);
+        this.retainedBytes = retainedBytes;
+        this.offHeapBytes = offHeapBytes;
+    }
+    
+    /**
+     * @param lcp an LCP array of n entries
+     * @return n(n+1)/2 minus the sum of the LCP values, as
+     *         {@link SuffixArray#countDistinctSubstrings()} counts
+     */
+    static long distinctSubstrings(IntArray lcp) {
+        long n = lcp.length();
+        long duplicates = 0;
+        for (int i = 0; i < n; i++) {
+            duplicates += lcp.get(i);
+        }
+        return n * (n + 1) / 2 - duplicates;
+    }
+    
+    /**
+     * @param lcp an LCP array
+     * @return the first SA index holding the largest LCP value, where the
+     *         longest repeated substring starts
+     */
+    static int longestRepeatedIndex(IntArray lcp) {
+        int maxIndex = 0;
+        for (int i = 1; i < lcp.length(); i++) {
+            if (lcp.get(i) > lcp.get(maxIndex)) {
+                maxIndex = i;
+            }
+        }
+        return maxIndex;
+    }
+    
+    /**
+     * @param text the text to index
+     * @return a builder with the SA-IS engine, Kasai LCP and no optional
+     *         search tables
+     */
+    public static Builder builder(String text) {
+        return new Builder(text);
+    }
+    
+    /**
+     * @param pattern the pattern to search
+     * @return the starting index of an occurrence, or -1 if not found
+     */
+    public int search(CharSequence pattern) {
+        return search.search(pattern);
+    }
+    
+    /**
+     * @param pattern the pattern to count
+     * @return number of occurrences of pattern in the text
+     */
+    public int count(CharSequence pattern) {
+        return search.count(pattern);
+    }
+    
+    /**
+     * Writes the starting positions of all occurrences into the caller's
+     * array, in suffix array order.
+     * 
+     * @param pattern the pattern to locate
+     * @param positions output array for occurrence positions
+     * @return total number of occurrences, which may exceed positions.length
+     */
+    public int locateAll(CharSequence pattern, int[] positions) {
+        return search.locateAll(pattern, positions);
+    }
+    
+    /**
+     * @param pattern the pattern to locate
+     * @param consumer receives each occurrence position, on the calling thread
+     * @return number of occurrences
+     */
+    public int locateAll(CharSequence pattern, IntConsumer consumer) {
+        return search.locateAll(pattern, consumer);
+    }
+    
+    /**
+     * @param pattern the pattern to search
+     * @return SA index of the first suffix not less than the pattern
+     */
+    public int lowerBound(CharSequence pattern) {
+        return search.lowerBound(pattern);
+    }
+    
+    /**
+     * @param pattern the pattern to search
+     * @return SA index of the first suffix greater than the pattern and
+     *         not starting with it
+     */
+    public int upperBound(CharSequence pattern) {
+        return search.upperBound(pattern);
+    }
+    
+    /**
+     * @param patterns the patterns to search
+     * @return for each pattern, in input order, the result of {@link #search}
+     */
+    public int[] searchBatch(CharSequence[] patterns) {
+        return search.searchBatch(patterns);
+    }
+    
+    /**
+     * @return number of distinct substrings, computed during the build
+     */
+    public long countDistinctSubstrings() {
+        return distinctSubstrings;
+    }
+    
+    /**
+     * @return the longest repeated substring, located during the build
+     */
+    public String longestRepeatedSubstring() {
+        return text.subSequence(longestRepeatedStart, 
+                                longestRepeatedStart + longestRepeatedLength).toString();
+    }
+    
+    /**
+     * @param i SA index in [0, length())
+     * @return starting position of the i-th smallest suffix
+     */
+    public int suffixAt(int i) {
+        return suffixArray.get(i);
+    }
+    
+    /**
+     * @param i SA index in [0, length())
+     * @return LCP of the i-th suffix with its predecessor in SA order
+     */
+    public int lcpAt(int i) {
+        return lcp.get(i);
+    }
+    
+    /**
+     * @return a read-only view of the suffix array
+     */
+    public IntArray suffixArray() {
+        return suffixArray;
+    }
+    
+    /**
+     * @return a read-only view of the LCP array
+     */
+    public IntArray lcp() {
+        return lcp;
+    }
+    
+    /**
+     * @return a copy of the suffix array that the caller may modify
+     */
+    public int[] copySuffixArray() {
+        return suffixArray.toArray();
+    }
+    
+    /**
+     * @return a copy of the LCP array that the caller may modify
+     */
+    public int[] copyLCP() {
+        return lcp.toArray();
+    }
+    
+    /**
+     * @return the indexed text, without the implicit sentinel; for an
+     *         index loaded by {@link SuffixIndexFile} it reads the mapped file
+     */
+    public CharSequence getText() {
+        return text;
+    }
+    
+    /**
+     * @return number of indexed positions, including the sentinel
+     */
+    public int length() {
+        return suffixArray.length();
+    }
+    
+    /**
+     * @return estimated heap bytes retained by the index; off-heap arrays
+     *         and the mapped file of a loaded index are not counted
+     */
+    public long getRetainedBytes() {
+        return retainedBytes;
+    }
+    
+    /**
+     * @return bytes held outside the heap: the suffix and LCP arrays of
+     *         an index built with {@link Builder#offHeap}, or the mapped
+     *         text and arrays of a loaded index
+     */
+    public long getOffHeapBytes() {
+        return offHeapBytes;
+    }
+    
+    /**
+     * Configures and builds a {@link SuffixIndex}. A builder is not
+     * thread-safe and may be reused; each build() creates a new index.
+     */
+    public static final class Builder {
+        
+        private final String text;
+        private SuffixArrayEngine engine = new SaisEngine();
+        private LcpBuilder lcpBuilder = new KasaiLcpBuilder(true);
+        private boolean lcpLR;
+        private int qGram;
+        private long qGramBudget = -1;
+        private boolean offHeap;
+        private boolean packed;
+        private boolean compactLCP;
+        private boolean packTextForLcp;
+        
+        private Builder(String text) {
+            if (text == null) {
+                throw new NullPointerException("text");
+            }
+            this.text = text;
+        }
+        
+        /**
+         * @param engine the suffix array construction engine
+         * @return this builder
+         */
+        public Builder engine(SuffixArrayEngine engine) {
+            this.engine = engine;
+            return this;
+        }
+        
+        /**
+         * @param lcpBuilder the LCP construction strategy
+         * @return this builder
+         */
+        public Builder lcpBuilder(LcpBuilder lcpBuilder) {
+            this.lcpBuilder = lcpBuilder;
+            return this;
+        }
+        
+        /**
+         * @param enabled whether to build LCP-LR arrays for O(m + log n)
+         *                search, at 8 extra bytes per character
+         * @return this builder
+         */
+        public Builder lcpLR(boolean enabled) {
+            this.lcpLR = enabled;
+            return this;
+        }
+        
+        /**
+         * @param q build a q-gram bucket table with this q, at most the
+         *          text length, or 0 for none
+         * @return this builder
+         */
+        public Builder qGramIndex(int q) {
+            this.qGram = q;
+            this.qGramBudget = -1;
+            return this;
+        }
+        
+        /**
+         * @param maxBytes build the q-gram bucket table with the largest q
+         *                 that fits in this budget
+         * @return this builder
+         */
+        public Builder qGramIndexWithin(long maxBytes) {
+            this.qGramBudget = maxBytes;
+            this.qGram = 0;
+            return this;
+        }
+        
+        /**
+         * @param enabled whether to move the finished suffix and LCP
+         *                arrays out of the heap into direct memory, where
+         *                the garbage collector never copies or marks them;
+         *                construction itself still uses heap arrays; a
+         *                packed suffix array stays on the heap
+         * @return this builder
+         */
+        public Builder offHeap(boolean enabled) {
+            this.offHeap = enabled;
+            return this;
+        }
+        
+        /**
+         * @param enabled whether to store the suffix array at
+         *                ceil(log2 n) bits per entry instead of 32, e.g.
+         *                20 bits for a 1 MB text; the LCP array is built
+         *                from the packed array, and every access costs a
+         *                few shifts
+         * @return this builder
+         */
+        public Builder packedSuffixArray(boolean enabled) {
+            this.packed = enabled;
+            return this;
+        }
+        
+        /**
+         * @param enabled whether to store the LCP array, and the LCP-LR
+         *                arrays if built, as one byte per entry with an
+         *                overflow table for values of 255 or more, about
+         *                4x smaller on natural language and DNA; a
+         *                compact LCP array stays on the heap
+         * @return this builder
+         */
+        public Builder compactLCP(boolean enabled) {
+            this.compactLCP = enabled;
+            return this;
+        }
+        
+        /**
+         * @param enabled whether to build the LCP array over a temporary
+         *                packed copy of the text (n or 2n bytes), comparing
+         *                8 or 4 characters per load; see
+         *                {@link SuffixArray#buildLCP(LcpBuilder, boolean)}
+         * @return this builder
+         */
+        public Builder packTextForLcp(boolean enabled) {
+            this.packTextForLcp = enabled;
+            return this;
+        }
+        
+        /**
+         * Runs every build step and returns the finished index.
+         * 
+         * @return a new immutable index
+         */
+        public SuffixIndex build() {
+            int n = text.length() + 1;
+            int[] saArray = new int[n];
+            int[] rank = new int[n];
+            engine.build(SymbolSequence.terminated(text), saArray, rank);
+            
+            IntArray suffixArray;
+            long saHeapBytes;
+            if (packed) {
+                PackedIntArray packedSA = PackedIntArray.ofSuffixArray(saArray);
+                saArray = null;
+                suffixArray = packedSA;
+                saHeapBytes = packedSA.memoryBytes();
+            } else {
+                suffixArray = IntArray.wrap(saArray);
+                saHeapBytes = (long) n * Integer.BYTES;
+            }
+            
+            // A packed suffix array is read through the accessor, which Kasai
+            // and Φ support in place; a plain one goes to the int[] overload,
+            // which no builder has to copy
+            int[] lcpArray = new int[n];
+            SymbolSequence symbols = packTextForLcp 
+                ? SymbolSequence.terminated(WordSequence.pack(text)) 
+                : SymbolSequence.terminated(text);
+            if (saArray != null) {
+                lcpBuilder.build(symbols, saArray, rank, lcpArray);
+            } else {
+                lcpBuilder.build(symbols, suffixArray, rank, lcpArray);
+            }
+            rank = null;
+            IntArray lcp;
+            long lcpHeapBytes;
+            if (compactLCP) {
+                CompactLcpArray compact = CompactLcpArray.of(lcpArray);
+                lcpArray = null;
+                lcp = compact;
+                lcpHeapBytes = compact.memoryBytes();
+            } else {
+                lcp = IntArray.wrap(lcpArray);
+                lcpHeapBytes = (long) n * Integer.BYTES;
+            }
+            
+            long offHeapBytes = 0;
+            if (offHeap) {
+                if (lcpArray != null) {
+                    OffHeapArray offHeapLcp = OffHeapArray.copyOf(lcpArray);
+                    lcp = offHeapLcp;
+                    lcpHeapBytes = 0;
+                    offHeapBytes += offHeapLcp.memoryBytes();
+                }
+                if (saArray != null) {
+                    OffHeapArray offHeapSA = OffHeapArray.copyOf(saArray);
+                    suffixArray = offHeapSA;
+                    saHeapBytes = 0;
+                    offHeapBytes += offHeapSA.memoryBytes();
+                }
+            }
+            LcpLrSearch lcpLRSearch = lcpLR ? new LcpLrSearch(text, suffixArray, lcp, compactLCP) : null;
+            int q = qGramBudget >= 0 ? QGramIndex.largestQ(text, qGramBudget) : qGram;
+            QGramIndex qGramIndex = q > 0 ? QGramIndex.build(text, suffixArray, q) : null;
+            
+            long retained = SuffixArray.textBytes(text) + saHeapBytes + lcpHeapBytes;
+            retained += lcpLRSearch != null ? lcpLRSearch.memoryBytes() : 0;
+            retained += qGramIndex != null ? qGramIndex.memoryBytes() : 0;
+            return new SuffixIndex(text, suffixArray, lcp, lcpLRSearch, qGramIndex, 
+                                   distinctSubstrings(lcp), longestRepeatedIndex(lcp), 
+                                   retained, offHeapBytes);
+        }
+    }
+}
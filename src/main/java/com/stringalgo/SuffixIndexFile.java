@@ -0,0 +1,303 @@
+package com.stringalgo;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary on-disk format for a built index: the text, suffix array and LCP
+ * array, so a process can load an index instead of rebuilding it.
+ * 
+ * Layout, all values little-endian:
+ * <pre>
+ * offset  size  field
+ *      0     8  magic "SAIX\r\n\x1a\n"
+ *      8     4  format version (1)
+ *     12     4  flags: bit 0 set if the text is UTF-16LE, else Latin-1
+ *     16     8  text length in characters
+ *     24     8  number of distinct substrings
+ *     32     8  SA index of the longest repeated substring
+ *     40     8  text offset
+ *     48     8  suffix array offset (text length + 1 ints)
+ *     56     8  LCP array offset (text length + 1 ints)
+ *     64     8  file length
+ *     72     4  CRC-32C of the text section
+ *     76     4  CRC-32C of the suffix array section
+ *     80     4  CRC-32C of the LCP array section
+ *     84     4  CRC-32C of header bytes [0, 84)
+ *     88    40  reserved, zero
+ * </pre>
+ * Sections start at 8-byte aligned offsets after the 128-byte header.
+ * 
+ * {@link #save} streams the arrays through a small buffer, so saving
+ * allocates no copy of the index, and writes to a temporary file that is
+ * renamed into place: a process that has the old file mapped keeps
+ * reading it intact. {@link #load} maps the file read-only with
+ * FileChannel.map rather than reading it, so loading is O(1) in the
+ * size of the index, pages are read on demand, and JVMs on one host that
+ * map the same file share its pages through the OS page cache.
+ * 
+ * Time Complexity: O(n) to save; O(1) to load, O(n) if checksums are verified
+ */
+public final class SuffixIndexFile {
+    
+    /** Current format version; files with another version are rejected. */
+    public static final int VERSION = 1;
+    
+    private static final long MAGIC = 0x0a1a0a0d58494153L; // "SAIX\r\n\x1a\n" read little-endian
+    private static final int HEADER_BYTES = 128;
+    private static final int HEADER_CHECKSUMMED_BYTES = 84;
+    private static final int FLAG_UTF16 = 1;
+    private static final int BUFFER_BYTES = 1 << 16;
+    
+    private SuffixIndexFile() {
+    }
+    
+    /**
+     * Saves a suffix array whose LCP array has been built.
+     * 
+     * @param sa the built suffix array
+     * @param file destination, replaced if it exists
+     * @throws IllegalStateException if the LCP array has not been built
+     * @throws IOException if the file cannot be written
+     */
+    public static void save(SuffixArray sa, Path file) throws IOException {
+        if (sa.getLCP() == null) {
+            throw new IllegalStateException("LCP array has not been built");
+        }
+        IntArray lcp = IntArray.wrap(sa.getLCP());
+        write(file, sa.getText(), IntArray.wrap(sa.getSuffixArray()), lcp,
+              sa.countDistinctSubstrings(), SuffixIndex.longestRepeatedIndex(lcp));
+    }
+    
+    /**
+     * Saves an index. Optional LCP-LR and q-gram tables are not stored.
+     * 
+     * @param index the index
+     * @param file destination, replaced if it exists
+     * @throws IOException if the file cannot be written
+     */
+    public static void save(SuffixIndex index, Path file) throws IOException {
+        write(file, index.getText(), index.suffixArray(), index.lcp(),
+              index.countDistinctSubstrings(), SuffixIndex.longestRepeatedIndex(index.lcp()));
+    }
+    
+    /**
+     * Maps an index file, checking only its header.
+     * 
+     * @param file a file written by {@link #save}
+     * @return an index reading the text and arrays from the mapped file
+     * @throws IOException if the file cannot be read, is not an index
+     *         file, has another version, or its header is corrupt
+     */
+    public static SuffixIndex load(Path file) throws IOException {
+        return load(file, false);
+    }
+    
+    /**
+     * Maps an index file.
+     * 
+     * @param file a file written by {@link #save}
+     * @param verifyChecksums whether to also check the checksums of the
+     *                        text and arrays, which reads the whole file
+     * @return an index reading the text and arrays from the mapped file
+     * @throws IOException if the file cannot be read, is not an index
+     *         file, has another version, or fails a checksum
+     */
+    public static SuffixIndex load(Path file, boolean verifyChecksums) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+                // read until the header is full or the file ends
+            }
+            if (header.hasRemaining() || header.getLong(0) != MAGIC) {
+                throw new IOException(file + " is not a suffix index file");
+            }
+            int version = header.getInt(8);
+            if (version != VERSION) {
+                throw new IOException(file + " has format version " + version
+                                      + ", expected " + VERSION);
+            }
+            if (header.getInt(84) != checksum(header.array(), HEADER_CHECKSUMMED_BYTES)) {
+                throw new IOException(file + " has a corrupt header");
+            }
+            
+            boolean utf16 = (header.getInt(12) & FLAG_UTF16) != 0;
+            long textLength = header.getLong(16);
+            long textOffset = header.getLong(40);
+            long suffixArrayOffset = header.getLong(48);
+            long lcpOffset = header.getLong(56);
+            if (textLength >= Integer.MAX_VALUE || header.getLong(64) != channel.size()) {
+                throw new IOException(file + " is truncated or has an invalid length");
+            }
+            int n = (int) textLength + 1;
+            
+            if (verifyChecksums) {
+                verify(channel, file, "text", textOffset, textLength * (utf16 ? 2 : 1), header.getInt(72));
+                verify(channel, file, "suffix array", suffixArrayOffset, (long) n * Integer.BYTES, header.getInt(76));
+                verify(channel, file, "LCP array", lcpOffset, (long) n * Integer.BYTES, header.getInt(80));
+            }
+            
+            // Mappings stay valid after the channel is closed
+            return new SuffixIndex(MappedText.map(channel, textOffset, (int) textLength, utf16),
+                                   MappedIntArray.map(channel, suffixArrayOffset, n),
+                                   MappedIntArray.map(channel, lcpOffset, n),
+                                   null, null, header.getLong(24), (int) header.getLong(32),
+                                   0, channel.size() - HEADER_BYTES);
+        }
+    }
+    
+    private static void write(Path file, CharSequence text, IntArray suffixArray, IntArray lcp,
+                              long distinctSubstrings, int longestRepeated) throws IOException {
+        boolean utf16 = false;
+        for (int i = 0; i < text.length() && !utf16; i++) {
+            utf16 = text.charAt(i) > 0xFF;
+        }
+        
+        Path absolute = file.toAbsolutePath();
+        Path temp = absolute.resolveSibling(absolute.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            SectionWriter out = new SectionWriter(channel, HEADER_BYTES);
+            
+            long textOffset = out.position();
+            for (int i = 0; i < text.length(); i++) {
+                if (utf16) {
+                    out.putChar(text.charAt(i));
+                } else {
+                    out.putByte(text.charAt(i));
+                }
+            }
+            int textChecksum = out.endSection();
+            
+            long suffixArrayOffset = out.position();
+            for (int i = 0; i < suffixArray.length(); i++) {
+                out.putInt(suffixArray.get(i));
+            }
+            int suffixArrayChecksum = out.endSection();
+            
+            long lcpOffset = out.position();
+            for (int i = 0; i < lcp.length(); i++) {
+                out.putInt(lcp.get(i));
+            }
+            int lcpChecksum = out.endSection();
+            
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putLong(MAGIC)
+                  .putInt(VERSION)
+                  .putInt(utf16 ? FLAG_UTF16 : 0)
+                  .putLong(text.length())
+                  .putLong(distinctSubstrings)
+                  .putLong(longestRepeated)
+                  .putLong(textOffset)
+                  .putLong(suffixArrayOffset)
+                  .putLong(lcpOffset)
+                  .putLong(out.position())
+                  .putInt(textChecksum)
+                  .putInt(suffixArrayChecksum)
+                  .putInt(lcpChecksum);
+            header.putInt(checksum(header.array(), HEADER_CHECKSUMMED_BYTES));
+            header.clear();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            channel.force(true);
+        }
+        Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    
+    private static void verify(FileChannel channel, Path file, String section,
+                               long offset, long length, int expected) throws IOException {
+        CRC32C crc = new CRC32C();
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+        for (long pos = offset; pos < offset + length; ) {
+            buffer.clear().limit((int) Math.min(BUFFER_BYTES, offset + length - pos));
+            int read = channel.read(buffer, pos);
+            if (read < 0) {
+                break;
+            }
+            crc.update(buffer.array(), 0, read);
+            pos += read;
+        }
+        if ((int) crc.getValue() != expected) {
+            throw new IOException(file + ": checksum mismatch in " + section);
+        }
+    }
+    
+    private static int checksum(byte[] bytes, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(bytes, 0, length);
+        return (int) crc.getValue();
+    }
+    
+    /**
+     * Buffered sequential writer that checksums each section and pads it
+     * to an 8-byte boundary.
+     */
+    private static final class SectionWriter {
+        
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        private final CRC32C crc = new CRC32C();
+        private long position;
+        
+        SectionWriter(FileChannel channel, long position) {
+            this.channel = channel;
+            this.position = position;
+        }
+        
+        long position() {
+            return position + buffer.position();
+        }
+        
+        void putByte(int value) throws IOException {
+            ensure(1);
+            buffer.put((byte) value);
+        }
+        
+        void putChar(char value) throws IOException {
+            ensure(Character.BYTES);
+            buffer.putChar(value);
+        }
+        
+        void putInt(int value) throws IOException {
+            ensure(Integer.BYTES);
+            buffer.putInt(value);
+        }
+        
+        /**
+         * Writes out the section, pads it and returns its checksum.
+         */
+        int endSection() throws IOException {
+            flush();
+            int value = (int) crc.getValue();
+            crc.reset();
+            ByteBuffer padding = ByteBuffer.allocate((int) (-position & 7));
+            while (padding.hasRemaining()) {
+                position += channel.write(padding, position);
+            }
+            return value;
+        }
+        
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+        
+        private void flush() throws IOException {
+            crc.update(buffer.array(), 0, buffer.position());
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            buffer.clear();
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package com.stringalgo;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Pattern queries over a built suffix array, shared by {@link SuffixArray}
+ * and {@link SuffixIndex}.
+ * 
+ * The text and suffix array are only read through CharSequence and
+ * {@link IntArray}, so the same queries run over heap arrays and over a
+ * memory-mapped index file. The optional LCP-LR and q-gram tables are
+ * used when present. Instances are immutable.
+ * 
+ * Time Complexity: O(m log n) per search, O(m + log n) with LCP-LR arrays
+ */
+final class SuffixSearch {
+    
+    private final CharSequence text;
+    private final int n;
+    private final IntArray suffixArray;
+    private final LcpLrSearch lcpLR;
+    private final QGramIndex qGramIndex;
+    
+    /**
+     * @param text the text, without the sentinel
+     * @param suffixArray text.length() + 1 entries, the first being the sentinel
+     * @param lcpLR LCP-LR tables, or null
+     * @param qGramIndex q-gram bucket table, or null
+     */
+    SuffixSearch(CharSequence text, IntArray suffixArray, LcpLrSearch lcpLR, QGramIndex qGramIndex) {
+        this.text = text;
+        this.n = suffixArray.length();
+        this.suffixArray = suffixArray;
+        this.lcpLR = lcpLR;
+        this.qGramIndex = qGramIndex;
+    }
+    
+    /**
+     * @return the starting index of first occurrence, or -1 if not found
+     */
+    int search(CharSequence pattern) {
+        int i = findLower(pattern);
+        
+        // Check if pattern exists at found position
+        if (i < n && compareSuffix(suffixArray.get(i), pattern) == 0) {
+            return suffixArray.get(i);
+        }
+        
+        return -1;
+    }
+    
+    /**
+     * @return number of occurrences of pattern in the text
+     */
+    int count(CharSequence pattern) {
+        return findUpper(pattern) - findLower(pattern);
+    }
+    
+    /**
+     * @return total number of occurrences, which may exceed positions.length
+     */
+    int locateAll(CharSequence pattern, int[] positions) {
+        int lo = findLower(pattern);
+        int hi = findUpper(pattern);
+        int written = Math.min(hi - lo, positions.length);
+        for (int i = 0; i < written; i++) {
+            positions[i] = suffixArray.get(lo + i);
+        }
+        return hi - lo;
+    }
+    
+    /**
+     * @return number of occurrences
+     */
+    int locateAll(CharSequence pattern, IntConsumer consumer) {
+        int lo = findLower(pattern);
+        int hi = findUpper(pattern);
+        for (int i = lo; i < hi; i++) {
+            consumer.accept(suffixArray.get(i));
+        }
+        return hi - lo;
+    }
+    
+    /**
+     * @return SA index of the first suffix not less than the pattern
+     */
+    int lowerBound(CharSequence pattern) {
+        if (lcpLR != null) {
+            return lcpLR.lowerBound(pattern);
+        }
+        
+        int left = 0, right = n;
+        while (left < right) {
+            int mid = (left + right) >>> 1;
+            if (compareSuffix(suffixArray.get(mid), pattern) < 0) {
+                left = mid + 1;
+            } else {
+                right = mid;
+            }
+        }
+        return left;
+    }
+    
+    /**
+     * @return SA index of the first suffix greater than the pattern and
+     *         not starting with it
+     */
+    int upperBound(CharSequence pattern) {
+        if (lcpLR != null) {
+            return lcpLR.upperBound(pattern);
+        }
+        
+        int left = 0, right = n;
+        while (left < right) {
+            int mid = (left + right) >>> 1;
+            if (compareSuffix(suffixArray.get(mid), pattern) <= 0) {
+                left = mid + 1;
+            } else {
+                right = mid;
+            }
+        }
+        return left;
+    }
+    
+    /**
+     * Lower bound used by the query methods: searches only the q-gram
+     * bucket of the pattern when one applies. Matches are always inside
+     * the bucket, but when there are none the returned index is only
+     * guaranteed to equal {@link #findUpper}, not the global lower bound.
+     */
+    private int findLower(CharSequence pattern) {
+        if (qGramIndex != null) {
+            int b = qGramIndex.bucket(pattern);
+            if (b >= 0) {
+                return boundWithin(pattern, 0, pattern.length(),
+                                   qGramIndex.bucketStart(b), qGramIndex.bucketEnd(b), false);
+            }
+        }
+        return lowerBound(pattern);
+    }
+    
+    private int findUpper(CharSequence pattern) {
+        if (qGramIndex != null) {
+            int b = qGramIndex.bucket(pattern);
+            if (b >= 0) {
+                return boundWithin(pattern, 0, pattern.length(),
+                                   qGramIndex.bucketStart(b), qGramIndex.bucketEnd(b), true);
+            }
+        }
+        return upperBound(pattern);
+    }
+    
+    /**
+     * Compares the suffix at start, truncated to the pattern length,
+     * with the pattern. Equivalent to
+     * text.substring(start, min(start + m, text.length())).compareTo(pattern)
+     * without creating the substring; a suffix that runs out, i.e. reaches
+     * the sentinel, sorts first.
+     */
+    private int compareSuffix(int start, CharSequence pattern) {
+        return compareSuffix(start, pattern, 0, pattern.length());
+    }
+    
+    /**
+     * Compares the suffix at start with pattern[0..m), both truncated to
+     * m characters, assuming the first from characters are known to match.
+     */
+    private int compareSuffix(int start, CharSequence pattern, int from, int m) {
+        int len = Math.min(m, n - 1 - start);
+        for (int k = from; k < len; k++) {
+            char a = text.charAt(start + k);
+            char b = pattern.charAt(k);
+            if (a != b) {
+                return a - b;
+            }
+        }
+        return len - m;
+    }
+    
+    /**
+     * Searches for many patterns at once. Patterns are processed in sorted
+     * order, and the SA interval of the prefix a pattern shares with its
+     * predecessor is reused, so only the remaining characters are searched
+     * within an already narrowed interval.
+     * 
+     * @return for each pattern, in input order, the result of {@link #search}
+     */
+    int[] searchBatch(CharSequence[] patterns) {
+        int q = patterns.length;
+        int[] results = new int[q];
+        
+        int[] order = sortedOrder(patterns);
+        
+        // Stack of SA intervals [lo, hi) for prefixes of the previous
+        // pattern, with strictly increasing prefix lengths
+        int[] stackLength = new int[2 * q + 1];
+        int[] stackLo = new int[2 * q + 1];
+        int[] stackHi = new int[2 * q + 1];
+        int top = 0;
+        stackHi[0] = n;
+        
+        CharSequence previous = "";
+        for (int idx : order) {
+            CharSequence pattern = patterns[idx];
+            int m = pattern.length();
+            int c = commonPrefix(previous, pattern);
+            
+            while (stackLength[top] > c) {
+                top--;
+            }
+            
+            // Narrow to the shared prefix, then to the whole pattern
+            for (int step = 0; step < 2; step++) {
+                int target = (step == 0) ? c : m;
+                if (stackLength[top] < target) {
+                    int from = stackLength[top];
+                    int lo = boundWithin(pattern, from, target, stackLo[top], stackHi[top], false);
+                    int hi = boundWithin(pattern, from, target, lo, stackHi[top], true);
+                    top++;
+                    stackLength[top] = target;
+                    stackLo[top] = lo;
+                    stackHi[top] = hi;
+                }
+            }
+            
+            results[idx] = stackLo[top] < stackHi[top] ? suffixArray.get(stackLo[top]) : -1;
+            previous = pattern;
+        }
+        
+        return results;
+    }
+    
+    /**
+     * Binary search for the lower (or upper) bound of pattern[0..m) within
+     * SA[lo..hi), where all suffixes in the range share pattern[0..from).
+     */
+    private int boundWithin(CharSequence pattern, int from, int m,
+                            int lo, int hi, boolean upper) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            int cmp = compareSuffix(suffixArray.get(mid), pattern, from, m);
+            if (cmp < 0 || (upper && cmp == 0)) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+    
+    /**
+     * Indexes of the patterns in lexicographic order, by a bottom-up merge
+     * sort on int indexes so that no index is boxed.
+     */
+    private static int[] sortedOrder(CharSequence[] patterns) {
+        int q = patterns.length;
+        int[] order = new int[q];
+        int[] scratch = new int[q];
+        for (int i = 0; i < q; i++) {
+            order[i] = i;
+        }
+        for (int width = 1; width < q; width *= 2) {
+            for (int lo = 0; lo < q; lo += 2 * width) {
+                int mid = Math.min(lo + width, q);
+                int hi = Math.min(lo + 2 * width, q);
+                int a = lo;
+                int b = mid;
+                for (int k = lo; k < hi; k++) {
+                    if (b >= hi || (a < mid && CharSequence.compare(patterns[order[a]], patterns[order[b]]) <= 0)) {
+                        scratch[k] = order[a++];
+                    } else {
+                        scratch[k] = order[b++];
+                    }
+                }
+            }
+            int[] swap = order;
+            order = scratch;
+            scratch = swap;
+        }
+        return order;
+    }
+    
+    private static int commonPrefix(CharSequence a, CharSequence b) {
+        int len = Math.min(a.length(), b.length());
+        int k = 0;
+        while (k < len && a.charAt(k) == b.charAt(k)) {
+            k++;
+        }
+        return k;
+    }
+}
@@ -0,0 +1,195 @@
+package com.stringalgo;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Read-only view of the symbols a suffix array is built over.
+ * 
+ * Construction engines only see symbols as integers in the range
+ * [0, alphabetSize), which lets the same engine index characters,
+ * bytes or token IDs.
+ */
+public interface SymbolSequence {
+    
+    /**
+     * @return number of symbols in the sequence
+     */
+    int length();
+    
+    /**
+     * @param i position in [0, length())
+     * @return the symbol at position i, in [0, alphabetSize())
+     */
+    int symbolAt(int i);
+    
+    /**
+     * @return exclusive upper bound on symbol values
+     */
+    int alphabetSize();
+    
+    /**
+     * Counts the equal symbols at positions i and j onward, comparing at
+     * most limit symbols. Implementations backed by packed storage
+     * override this to compare many symbols per step, which is what the
+     * LCP builders use to extend matches.
+     * 
+     * @param i first start position
+     * @param j second start position
+     * @param limit maximum number of symbols to compare; i + limit and
+     *              j + limit must not exceed length()
+     * @return length of the common prefix, at most limit
+     */
+    default int commonPrefixLength(int i, int j, int limit) {
+        int k = 0;
+        while (k < limit && symbolAt(i + k) == symbolAt(j + k)) {
+            k++;
+        }
+        return k;
+    }
+    
+    /**
+     * Wraps a character sequence. The alphabet size is one more than the
+     * largest character value found in the text, computed on first use.
+     * 
+     * @param text the characters to view as symbols
+     * @return symbol view over text
+     */
+    static SymbolSequence of(CharSequence text) {
+        return new SymbolSequence() {
+            private int alphabetSize;
+            
+            @Override
+            public int length() {
+                return text.length();
+            }
+            
+            @Override
+            public int symbolAt(int i) {
+                return text.charAt(i);
+            }
+            
+            @Override
+            public int alphabetSize() {
+                if (alphabetSize == 0) {
+                    int max = 0;
+                    for (int i = 0; i < text.length(); i++) {
+                        max = Math.max(max, text.charAt(i));
+                    }
+                    alphabetSize = max + 1;
+                }
+                return alphabetSize;
+            }
+        };
+    }
+    
+    /**
+     * Wraps an integer array whose values lie in [0, alphabetSize).
+     * 
+     * @param symbols the symbol values (not copied)
+     * @param alphabetSize exclusive upper bound on symbol values
+     * @return symbol view over symbols
+     */
+    static SymbolSequence of(int[] symbols, int alphabetSize) {
+        return new SymbolSequence() {
+            @Override
+            public int length() {
+                return symbols.length;
+            }
+            
+            @Override
+            public int symbolAt(int i) {
+                return symbols[i];
+            }
+            
+            @Override
+            public int alphabetSize() {
+                return alphabetSize;
+            }
+        };
+    }
+    
+    /**
+     * Wraps the remaining bytes of a buffer as unsigned symbols in
+     * [0, 256). The buffer's position and limit are not changed. Common
+     * prefixes are compared 8 bytes at a time.
+     * 
+     * @param bytes the bytes to view as symbols (not copied)
+     * @return symbol view over bytes
+     */
+    static SymbolSequence of(ByteBuffer bytes) {
+        return WordSequence.of(bytes);
+    }
+    
+    /**
+     * Views a character sequence followed by an implicit end-of-text
+     * sentinel. Characters c are reported as c + 1 and the position after
+     * the last character as 0, so the sentinel sorts before everything
+     * and cannot collide with any character, including '$'.
+     * 
+     * @param text the characters to view as symbols
+     * @return symbol view of length text.length() + 1
+     */
+    static SymbolSequence terminated(CharSequence text) {
+        final int length = text.length();
+        return new SymbolSequence() {
+            private int alphabetSize;
+            
+            @Override
+            public int length() {
+                return length + 1;
+            }
+            
+            @Override
+            public int symbolAt(int i) {
+                return i == length ? 0 : text.charAt(i) + 1;
+            }
+            
+            @Override
+            public int alphabetSize() {
+                if (alphabetSize == 0) {
+                    int max = 0;
+                    for (int i = 0; i < length; i++) {
+                        max = Math.max(max, text.charAt(i));
+                    }
+                    alphabetSize = max + 2;
+                }
+                return alphabetSize;
+            }
+        };
+    }
+    
+    /**
+     * Views a symbol sequence followed by an implicit end-of-text sentinel.
+     * Symbols s are reported as s + 1 and the position after the last
+     * symbol as 0.
+     * 
+     * @param raw the symbols to terminate
+     * @return symbol view of length raw.length() + 1
+     */
+    static SymbolSequence terminated(SymbolSequence raw) {
+        final int length = raw.length();
+        return new SymbolSequence() {
+            @Override
+            public int length() {
+                return length + 1;
+            }
+            
+            @Override
+            public int symbolAt(int i) {
+                return i == length ? 0 : raw.symbolAt(i) + 1;
+            }
+            
+            @Override
+            public int alphabetSize() {
+                return raw.alphabetSize() + 1;
+            }
+            
+            @Override
+            public int commonPrefixLength(int i, int j, int limit) {
+                // The sentinel equals nothing, so stop before it
+                int max = Math.min(limit, length - Math.max(i, j));
+                return max > 0 ? raw.commonPrefixLength(i, j, max) : 0;
+            }
+        };
+    }
+}
@@ -0,0 +1,288 @@
+package com.stringalgo;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Suffix array with LCP over an arbitrary symbol sequence, terminated by
+ * an implicit end-of-text sentinel.
+ * 
+ * Symbols s in [0, K) are indexed as s + 1, and a virtual symbol 0 is
+ * placed after the last one, so the sentinel sorts before every symbol
+ * without being stored or colliding with any input value. The suffix
+ * array and LCP array therefore have length + 1 entries, with the
+ * sentinel suffix first, exactly as {@link SuffixArray} does for '$'.
+ * 
+ * Subclasses supply the symbol storage and typed query methods.
+ */
+public abstract class SymbolSuffixArray {
+    
+    private final SymbolSequence symbols;
+    private final int n;
+    private int[] suffixArray;
+    private int[] lcp;
+    private int[] rank;
+    private final SuffixArrayEngine engine;
+    
+    /**
+     * @param raw the symbols to index, in [0, raw.alphabetSize())
+     * @param engine the suffix array construction engine
+     */
+    protected SymbolSuffixArray(SymbolSequence raw, SuffixArrayEngine engine) {
+        if (raw.length() == Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Input too long: " + raw.length());
+        }
+        this.symbols = SymbolSequence.terminated(raw);
+        this.n = symbols.length();
+        this.suffixArray = new int[n];
+        this.engine = engine;
+    }
+    
+    /**
+     * Builds the suffix array with the configured construction engine.
+     */
+    public void buildSuffixArray() {
+        if (rank == null) {
+            rank = new int[n];
+        }
+        engine.build(symbols, suffixArray, rank);
+    }
+    
+    /**
+     * Builds the LCP array using Kasai's algorithm, reusing the rank buffer
+     * left by construction as the inverse suffix array.
+     */
+    public void buildLCP() {
+        buildLCP(new KasaiLcpBuilder(true));
+    }
+    
+    /**
+     * Builds the LCP array with the given builder and releases the rank
+     * buffer, which is only needed during construction.
+     * 
+     * @param builder the LCP construction strategy
+     */
+    public void buildLCP(LcpBuilder builder) {
+        lcp = new int[n];
+        builder.build(symbols, suffixArray, rank, lcp);
+        rank = null;
+    }
+    
+    /**
+     * Builds the LCP array if it is missing and releases all
+     * construction-only state, leaving the symbols, suffix array and LCP
+     * array.
+     */
+    public void compact() {
+        if (lcp == null) {
+            buildLCP();
+        }
+        rank = null;
+    }
+    
+    /**
+     * Searches for a pattern of raw symbols.
+     * 
+     * Time Complexity: O(m log n)
+     * 
+     * @param pattern the symbols to search, in the input alphabet
+     * @return the starting index of first occurrence, or -1 if not found
+     */
+    public int search(SymbolSequence pattern) {
+        int i = lowerBound(pattern);
+        if (i < n && compareSuffix(suffixArray[i], pattern) == 0) {
+            return suffixArray[i];
+        }
+        return -1;
+    }
+    
+    /**
+     * Counts the occurrences of a pattern of raw symbols.
+     * 
+     * Time Complexity: O(m log n)
+     * 
+     * @param pattern the symbols to count, in the input alphabet
+     * @return number of occurrences
+     */
+    public int count(SymbolSequence pattern) {
+        return upperBound(pattern) - lowerBound(pattern);
+    }
+    
+    /**
+     * Writes the starting positions of all occurrences of a pattern into
+     * the given array, in suffix array order. If the array is too short,
+     * only the first positions.length occurrences are written.
+     * 
+     * @param pattern the symbols to locate, in the input alphabet
+     * @param positions output array for occurrence positions
+     * @return total number of occurrences, which may exceed positions.length
+     */
+    public int locateAll(SymbolSequence pattern, int[] positions) {
+        int lo = lowerBound(pattern);
+        int hi = upperBound(pattern);
+        System.arraycopy(suffixArray, lo, positions, 0, Math.min(hi - lo, positions.length));
+        return hi - lo;
+    }
+    
+    /**
+     * Passes the starting position of every occurrence of a pattern to
+     * the consumer, in suffix array order.
+     * 
+     * @param pattern the symbols to locate, in the input alphabet
+     * @param consumer receives each occurrence position
+     * @return number of occurrences
+     */
+    public int locateAll(SymbolSequence pattern, IntConsumer consumer) {
+        int lo = lowerBound(pattern);
+        int hi = upperBound(pattern);
+        for (int i = lo; i < hi; i++) {
+            consumer.accept(suffixArray[i]);
+        }
+        return hi - lo;
+    }
+    
+    /**
+     * @param pattern the symbols to search, in the input alphabet
+     * @return index in SA of the first suffix not less than the pattern
+     */
+    public int lowerBound(SymbolSequence pattern) {
+        return bound(pattern, false);
+    }
+    
+    /**
+     * @param pattern the symbols to search, in the input alphabet
+     * @return index in SA of the first suffix greater than the pattern
+     *         and not starting with it
+     */
+    public int upperBound(SymbolSequence pattern) {
+        return bound(pattern, true);
+    }
+    
+    /**
+     * Counts the number of distinct substrings in the text, including
+     * those ending with the sentinel.
+     * 
+     * Formula: n(n+1)/2 - Σ(lcp[i])
+     * 
+     * Time Complexity: O(n)
+     * 
+     * @return number of distinct substrings
+     */
+    public long countDistinctSubstrings() {
+        if (lcp == null) {
+            buildLCP();
+        }
+        
+        long totalSubstrings = (long) n * (n + 1) / 2;
+        long duplicates = 0;
+        
+        for (int i = 0; i < n; i++) {
+            duplicates += lcp[i];
+        }
+        
+        return totalSubstrings - duplicates;
+    }
+    
+    /**
+     * Finds the SA index whose LCP with its predecessor is largest, i.e.
+     * where the longest repeated substring starts.
+     * 
+     * @return SA index i such that the longest repeated substring is the
+     *         first lcp[i] symbols of suffix SA[i]
+     */
+    protected int longestRepeatedIndex() {
+        if (lcp == null) {
+            buildLCP();
+        }
+        
+        int maxLen = 0;
+        int maxIndex = 0;
+        
+        for (int i = 0; i < n; i++) {
+            if (lcp[i] > maxLen) {
+                maxLen = lcp[i];
+                maxIndex = i;
+            }
+        }
+        
+        return maxIndex;
+    }
+    
+    // Getters
+    public int[] getSuffixArray() {
+        return suffixArray;
+    }
+    
+    public int[] getLCP() {
+        return lcp;
+    }
+    
+    /**
+     * @return number of indexed positions, including the sentinel
+     */
+    public int getLength() {
+        return n;
+    }
+    
+    /**
+     * @return bytes held by the suffix, LCP and rank arrays, excluding
+     *         the symbol storage, which subclasses report themselves
+     */
+    protected long getArrayBytes() {
+        long bytes = (long) suffixArray.length * Integer.BYTES;
+        bytes += lcp != null ? (long) lcp.length * Integer.BYTES : 0;
+        return bytes + (rank != null ? (long) rank.length * Integer.BYTES : 0);
+    }
+    
+    private int bound(SymbolSequence pattern, boolean upper) {
+        int left = 0, right = n;
+        while (left < right) {
+            int mid = (left + right) >>> 1;
+            int cmp = compareSuffix(suffixArray[mid], pattern);
+            if (cmp < 0 || (upper && cmp == 0)) {
+                left = mid + 1;
+            } else {
+                right = mid;
+            }
+        }
+        return left;
+    }
+    
+    /**
+     * Compares the suffix at start, truncated to the pattern length,
+     * with the pattern, shifting text symbols back into the input
+     * alphabet. The sentinel is never compared, so no pattern symbol can
+     * match it; a suffix that runs out sorts first. Shifting the text
+     * rather than the pattern cannot overflow, so pattern symbols outside
+     * the alphabet, including Integer.MAX_VALUE, simply never match.
+     */
+    private int compareSuffix(int start, SymbolSequence pattern) {
+        int m = pattern.length();
+        int len = Math.min(m, n - 1 - start);
+        int k = commonPrefixWithPattern(start, pattern, len);
+        if (k < len) {
+            int a = symbols.symbolAt(start + k) - 1;
+            int b = pattern.symbolAt(k);
+            return a < b ? -1 : 1;
+        }
+        return len - m;
+    }
+    
+    /**
+     * Counts the leading pattern symbols that match the text at start,
+     * comparing at most limit symbols. Subclasses with packed storage may
+     * override this to compare many symbols per step.
+     * 
+     * @param start text position to compare from
+     * @param pattern the pattern, in the input alphabet
+     * @param limit maximum number of symbols to compare; stays within both
+     *              the pattern and the text
+     * @return number of matching symbols, at most limit
+     */
+    protected int commonPrefixWithPattern(int start, SymbolSequence pattern, int limit) {
+        int k = 0;
+        while (k < limit && symbols.symbolAt(start + k) - 1 == pattern.symbolAt(k)) {
+            k++;
+        }
+        return k;
+    }
+}
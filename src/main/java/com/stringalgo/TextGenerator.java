@@ -0,0 +1,185 @@
+package com.stringalgo;
+
+import java.util.Random;
+
+/**
+ * Deterministic text generators for benchmarks.
+ * 
+ * Each family stresses suffix array construction differently: random text
+ * resolves in few doubling rounds, while Fibonacci, periodic and unary
+ * strings have long common prefixes that need up to log n rounds and make
+ * LCP extension dominate. De Bruijn sequences are the opposite extreme,
+ * with every k-gram occurring once, and Thue-Morse words are aperiodic
+ * yet highly repetitive.
+ */
+public final class TextGenerator {
+    
+    private static final String[] WORDS = {
+        "the", "of", "and", "to", "in", "a", "is", "that", "for", "it",
+        "as", "was", "with", "be", "by", "on", "not", "he", "this", "are",
+        "or", "his", "from", "at", "which", "but", "have", "an", "had", "they",
+        "you", "were", "their", "one", "all", "we", "can", "her", "has", "there",
+        "been", "if", "more", "when", "will", "would", "who", "so", "no", "suffix",
+        "array", "string", "prefix", "search", "pattern", "index", "text", "sort"
+    };
+    
+    private TextGenerator() {
+    }
+    
+    /**
+     * @param length number of characters
+     * @param alphabetSize characters are drawn uniformly from the first
+     *                     alphabetSize letters starting at 'A'
+     * @param seed random seed
+     * @return uniformly random text
+     */
+    public static String random(int length, int alphabetSize, long seed) {
+        Random rand = new Random(seed);
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append((char) ('A' + rand.nextInt(alphabetSize)));
+        }
+        return sb.toString();
+    }
+    
+    /**
+     * @param length number of characters
+     * @return prefix of the infinite Fibonacci word over {A, B}, the same
+     *         word as SuffixArrayTest's Fibonacci strings
+     */
+    public static String fibonacci(int length) {
+        StringBuilder prev = new StringBuilder("A");
+        StringBuilder curr = new StringBuilder("B");
+        while (curr.length() < length) {
+            StringBuilder next = new StringBuilder(curr).append(prev);
+            prev = curr;
+            curr = next;
+        }
+        curr.setLength(length);
+        return curr.toString();
+    }
+    
+    /**
+     * @param length number of characters
+     * @param period length of the repeated unit
+     * @param alphabetSize the unit is random over this many letters
+     * @param seed random seed for the unit
+     * @return the unit repeated up to length characters
+     */
+    public static String periodic(int length, int period, int alphabetSize, long seed) {
+        String unit = random(period, alphabetSize, seed);
+        StringBuilder sb = new StringBuilder(length + period);
+        while (sb.length() < length) {
+            sb.append(unit);
+        }
+        sb.setLength(length);
+        return sb.toString();
+    }
+    
+    /**
+     * @param length number of characters
+     * @param seed random seed
+     * @return space-separated words drawn from a small English vocabulary
+     *         with Zipf-like frequencies
+     */
+    public static String naturalLanguage(int length, long seed) {
+        Random rand = new Random(seed);
+        StringBuilder sb = new StringBuilder(length + 16);
+        while (sb.length() < length) {
+            // Squaring a uniform index favours the frequent words at the front
+            double u = rand.nextDouble();
+            sb.append(WORDS[(int) (u * u * WORDS.length)]);
+            sb.append(rand.nextInt(12) == 0 ? ". " : " ");
+        }
+        sb.setLength(length);
+        return sb.toString();
+    }
+    
+    /**
+     * @param length number of bases
+     * @param seed random seed
+     * @return random ACGT sequence with occasional copied segments, as in
+     *         repeat-rich genomes
+     */
+    public static String dna(int length, long seed) {
+        Random rand = new Random(seed);
+        StringBuilder sb = new StringBuilder(length + 1000);
+        while (sb.length() < length) {
+            if (sb.length() > 1000 && rand.nextInt(50) == 0) {
+                int repeat = 50 + rand.nextInt(450);
+                int from = rand.nextInt(sb.length() - repeat);
+                sb.append(sb, from, from + repeat);
+            } else {
+                sb.append("ACGT".charAt(rand.nextInt(4)));
+            }
+        }
+        sb.setLength(length);
+        return sb.toString();
+    }
+    
+    /**
+     * @param length number of characters
+     * @param c the repeated character
+     * @return c repeated length times (a^n), the worst case for prefix
+     *         doubling: every round but the last leaves all ranks tied
+     */
+    public static String unary(int length, char c) {
+        return String.valueOf(c).repeat(length);
+    }
+    
+    /**
+     * Generates a de Bruijn sequence with the FKM algorithm (concatenated
+     * Lyndon words), using the smallest order whose sequence is at least
+     * length characters, and truncates it.
+     * 
+     * @param length number of characters
+     * @param alphabetSize letters starting at 'A'; at least 2
+     * @return prefix of a de Bruijn sequence B(alphabetSize, order)
+     */
+    public static String deBruijn(int length, int alphabetSize) {
+        int order = 1;
+        long total = alphabetSize;
+        while (total < length) {
+            order++;
+            total *= alphabetSize;
+        }
+        
+        StringBuilder sb = new StringBuilder(length + order);
+        int[] a = new int[order + 1];
+        int i = 1;
+        while (sb.length() < length) {
+            if (order % i == 0) {
+                for (int j = 1; j <= i; j++) {
+                    sb.append((char) ('A' + a[j]));
+                }
+            }
+            // Next Lyndon word prefix in lexicographic order
+            i = order;
+            while (i > 0 && a[i] == alphabetSize - 1) {
+                i--;
+            }
+            if (i == 0) {
+                break;
+            }
+            a[i]++;
+            for (int j = i + 1; j <= order; j++) {
+                a[j] = a[j - i];
+            }
+        }
+        sb.setLength(length);
+        return sb.toString();
+    }
+    
+    /**
+     * @param length number of characters
+     * @return prefix of the Thue-Morse word over {A, B}: position i holds
+     *         B when i has an odd number of one bits
+     */
+    public static String thueMorse(int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append((Integer.bitCount(i) & 1) == 0 ? 'A' : 'B');
+        }
+        return sb.toString();
+    }
+}
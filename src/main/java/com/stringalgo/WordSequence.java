@@ -0,0 +1,115 @@
+package com.stringalgo;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Byte- or char-valued sequence that compares common prefixes one 64-bit
+ * word at a time.
+ * 
+ * Symbols are stored little-endian in a ByteBuffer, one byte each or two
+ * bytes each (UTF-16), so a long load covers 8 or 4 symbols and the first
+ * differing symbol of two words is Long.numberOfTrailingZeros of their
+ * XOR divided by the symbol width in bits.
+ */
+final class WordSequence implements SymbolSequence {
+    
+    private final ByteBuffer buffer;
+    private final int shift; // log2 of bytes per symbol
+    private final int length;
+    private final int alphabetSize;
+    
+    private WordSequence(ByteBuffer buffer, int shift, int length, int alphabetSize) {
+        this.buffer = buffer.order(ByteOrder.LITTLE_ENDIAN);
+        this.shift = shift;
+        this.length = length;
+        this.alphabetSize = alphabetSize;
+    }
+    
+    /**
+     * Wraps the remaining bytes of a buffer as unsigned symbols in
+     * [0, 256). The buffer's position, limit and order are not changed.
+     */
+    static WordSequence of(ByteBuffer bytes) {
+        ByteBuffer view = bytes.slice();
+        return new WordSequence(view, 0, view.limit(), 256);
+    }
+    
+    /**
+     * Copies a character sequence into word-comparable form: one byte per
+     * character if all characters are below 256, two bytes otherwise.
+     * 
+     * Space Complexity: n or 2n bytes
+     */
+    static WordSequence pack(CharSequence text) {
+        int n = text.length();
+        int max = 0;
+        for (int i = 0; i < n; i++) {
+            max = Math.max(max, text.charAt(i));
+        }
+        
+        if (max < 256) {
+            byte[] bytes = new byte[n];
+            for (int i = 0; i < n; i++) {
+                bytes[i] = (byte) text.charAt(i);
+            }
+            return new WordSequence(ByteBuffer.wrap(bytes), 0, n, max + 1);
+        }
+        
+        ByteBuffer chars = ByteBuffer.allocate(2 * n).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < n; i++) {
+            chars.putChar(2 * i, text.charAt(i));
+        }
+        return new WordSequence(chars, 1, n, max + 1);
+    }
+    
+    @Override
+    public int length() {
+        return length;
+    }
+    
+    @Override
+    public int symbolAt(int i) {
+        return shift == 0 ? buffer.get(i) & 0xFF : buffer.getChar(i << 1);
+    }
+    
+    @Override
+    public int alphabetSize() {
+        return alphabetSize;
+    }
+    
+    @Override
+    public int commonPrefixLength(int i, int j, int limit) {
+        return commonPrefixLength(i, this, j, limit);
+    }
+    
+    /**
+     * Counts the equal symbols of this sequence from i and other from j,
+     * comparing a 64-bit word per step.
+     * 
+     * Time Complexity: O(limit / w + 1), where w is 8 bytes or 4 chars
+     */
+    int commonPrefixLength(int i, WordSequence other, int j, int limit) {
+        int k = 0;
+        if (other.shift != shift) {
+            // Symbol widths differ, so words cannot be compared directly
+            while (k < limit && symbolAt(i + k) == other.symbolAt(j + k)) {
+                k++;
+            }
+            return k;
+        }
+        
+        int perWord = 8 >>> shift;
+        while (k + perWord <= limit) {
+            long x = buffer.getLong((i + k) << shift) ^ other.buffer.getLong((j + k) << shift);
+            if (x != 0) {
+                return k + (Long.numberOfTrailingZeros(x) >>> (3 + shift));
+            }
+            k += perWord;
+        }
+        while (k < limit && symbolAt(i + k) == other.symbolAt(j + k)) {
+            k++;
+        }
+        return k;
+    }
+}
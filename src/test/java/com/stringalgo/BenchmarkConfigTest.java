@@ -0,0 +1,116 @@
+package com.stringalgo;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * Tests for the benchmark command line, JSON results and regression check.
+ */
+public class BenchmarkConfigTest {
+    
+    @Test
+    @DisplayName("Config Test 1: Options in both forms, defaults and errors")
+    public void testConfig1_Parse() {
+        BenchmarkConfig config = BenchmarkConfig.parse(new String[]{
+            "--output-dir", "out", "--sizes=100,2000", "--engines", "SA-IS",
+            "--formats", "json,csv", "--threshold", "0.2", "--memory-threshold=0"});
+        
+        assertEquals(Paths.get("out"), config.outputDir);
+        assertArrayEquals(new int[]{100, 2000}, config.sizes);
+        assertEquals(List.of("SA-IS"), config.engines);
+        assertEquals(Set.of("csv", "json"), config.formats);
+        assertEquals(0.2, config.threshold);
+        assertEquals(0.0, config.memoryThreshold);
+        assertEquals(1, config.repetitions);
+        assertNull(config.baseline);
+        
+        assertThrows(IllegalArgumentException.class, 
+            () -> BenchmarkConfig.parse(new String[]{"--engines", "Bogo"}));
+        assertThrows(IllegalArgumentException.class, 
+            () -> BenchmarkConfig.parse(new String[]{"--sizes", "10,x"}));
+        assertThrows(IllegalArgumentException.class, 
+            () -> BenchmarkConfig.parse(new String[]{"--repetitions"}));
+        assertThrows(IllegalArgumentException.class, 
+            () -> BenchmarkConfig.parse(new String[]{"--output"}));
+    }
+    
+    @Test
+    @DisplayName("Config Test 2: JSON results round-trip")
+    @SuppressWarnings("unchecked")
+    public void testConfig2_JsonRoundTrip() {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("Engine", "SA-IS");
+        row.put("Size", 1000);
+        row.put("SA(ns)", 123456789L);
+        row.put("Mean", 2.5);
+        row.put("B/char", Double.NaN);
+        row.put("Ratio", Double.POSITIVE_INFINITY);
+        row.put("JVM", "17 \"quoted\" \\ path");
+        Map<String, List<Map<String, Object>>> sections = new LinkedHashMap<>();
+        sections.put("results", List.of(row));
+        sections.put("corpus", List.of());
+        
+        Map<String, Object> parsed = (Map<String, Object>) BenchmarkJson.parse(BenchmarkJson.write(sections));
+        List<Map<String, Object>> rows = (List<Map<String, Object>>) parsed.get("results");
+        
+        assertEquals(1, rows.size());
+        assertEquals("SA-IS", rows.get(0).get("Engine"));
+        assertEquals(1000.0, rows.get(0).get("Size"));
+        assertEquals(123456789.0, rows.get(0).get("SA(ns)"));
+        assertEquals(2.5, rows.get(0).get("Mean"));
+        assertTrue(rows.get(0).containsKey("B/char"));
+        assertNull(rows.get(0).get("B/char"));
+        assertNull(rows.get(0).get("Ratio"));
+        assertEquals("17 \"quoted\" \\ path", rows.get(0).get("JVM"));
+        assertEquals(List.of(), parsed.get("corpus"));
+        assertThrows(IllegalArgumentException.class, () -> BenchmarkJson.parse("{\"a\": }"));
+    }
+    
+    @Test
+    @DisplayName("Config Test 3: Regressions above the threshold are flagged")
+    public void testConfig3_RegressionCheck() {
+        List<Map<String, Object>> baseline = List.of(
+            row("SA-IS", 1000.0, 10_000_000.0),
+            row("SA-IS", 2000.0, 20_000_000.0),
+            row("SA-IS", 10.0, 1_000.0));
+        List<Map<String, Object>> current = List.of(
+            row("SA-IS", 1000, 10_500_000L),   // +5%: within threshold
+            row("SA-IS", 2000, 30_000_000L),   // +50%: regression
+            row("SA-IS", 10, 9_000L),          // below the minimum compared time
+            row("SA-IS", 4000, 99_000_000L));  // not in baseline
+        
+        List<String> regressions = RegressionCheck.compare("results", baseline, current,
+            List.of("Engine", "Size"), Map.of("SA(ns)", 1_000_000.0), 0.10);
+        
+        assertEquals(1, regressions.size());
+        assertTrue(regressions.get(0).contains("SA-IS, 2000"), regressions.get(0));
+    }
+    
+    @Test
+    @DisplayName("Config Test 4: Memory probe counts allocated bytes")
+    public void testConfig4_MemoryProbe() {
+        MemoryProbe probe = MemoryProbe.start();
+        int[] array = new int[1 << 20];
+        MemoryProbe.Phase phase = probe.stop();
+        
+        assertEquals(1 << 20, array.length);
+        if (phase.allocatedBytes >= 0) {
+            assertTrue(phase.allocatedBytes >= 4L << 20, "allocated " + phase.allocatedBytes);
+            assertEquals(phase.allocatedBytes / 1000.0, phase.allocatedPerChar(1000));
+        }
+        assertTrue(phase.peakHeapBytes > 0);
+        assertTrue(phase.gcCount >= 0);
+    }
+    
+    private static Map<String, Object> row(String engine, Number size, Number saTime) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("Engine", engine);
+        row.put("Size", size);
+        row.put("SA(ns)", saTime);
+        return row;
+    }
+}
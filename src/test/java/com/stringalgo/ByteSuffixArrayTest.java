@@ -0,0 +1,125 @@
+package com.stringalgo;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Tests for the byte-oriented suffix array.
+ */
+public class ByteSuffixArrayTest {
+    
+    @Test
+    @DisplayName("Byte Test 1: 'banana' matches the String suffix array")
+    public void testByte1_Banana() {
+        ByteSuffixArray sa = new ByteSuffixArray(bytes("banana"));
+        sa.buildSuffixArray();
+        sa.buildLCP();
+        
+        assertEquals(7, sa.getLength());
+        assertArrayEquals(new int[]{6, 5, 3, 1, 0, 4, 2}, sa.getSuffixArray());
+        assertArrayEquals(new int[]{0, 0, 1, 3, 0, 0, 2}, sa.getLCP());
+        assertArrayEquals(bytes("ana"), sa.longestRepeatedSubstring());
+        int pos = sa.search(bytes("ana"));
+        assertTrue(pos == 1 || pos == 3);
+        assertEquals(2, sa.count(bytes("ana")));
+        assertEquals(-1, sa.search(bytes("nab")));
+    }
+    
+    @Test
+    @DisplayName("Byte Test 2: Random letters match the String suffix array")
+    public void testByte2_MatchesStringSuffixArray() {
+        Random rand = new Random(42);
+        for (int length : new int[]{1, 10, 500, 5000}) {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < length; i++) {
+                sb.append((char) ('A' + rand.nextInt(4)));
+            }
+            String text = sb.toString();
+            
+            SuffixArray expected = new SuffixArray(text);
+            expected.buildSuffixArray();
+            expected.buildLCP();
+            ByteSuffixArray actual = new ByteSuffixArray(bytes(text), new SaisEngine());
+            actual.buildSuffixArray();
+            actual.buildLCP(new PhiLcpBuilder());
+            
+            assertArrayEquals(expected.getSuffixArray(), actual.getSuffixArray());
+            assertArrayEquals(expected.getLCP(), actual.getLCP());
+            assertEquals(expected.countDistinctSubstrings(), actual.countDistinctSubstrings());
+            assertEquals(expected.count("ACG"), actual.count(bytes("ACG")));
+        }
+    }
+    
+    @Test
+    @DisplayName("Byte Test 3: Bytes compare unsigned and '$' is ordinary data")
+    public void testByte3_UnsignedAndDollar() {
+        byte[] data = {(byte) 0xFF, 0x00, '$', (byte) 0x80, 0x00, '$', (byte) 0xFF};
+        ByteSuffixArray sa = new ByteSuffixArray(data);
+        sa.buildSuffixArray();
+        sa.buildLCP();
+        
+        int[] suffixes = sa.getSuffixArray();
+        assertEquals(data.length, suffixes[0]); // sentinel first
+        for (int i = 2; i < suffixes.length; i++) {
+            assertTrue(compareUnsigned(data, suffixes[i - 1], suffixes[i]) < 0);
+        }
+        assertEquals(2, sa.count(new byte[]{0x00, '$'}));
+        assertEquals(1, sa.count(new byte[]{(byte) 0xFF, 0x00}));
+    }
+    
+    @Test
+    @DisplayName("Byte Test 4: Memory-mapped file and ByteBuffer input")
+    public void testByte4_MappedFile(@TempDir Path dir) throws Exception {
+        byte[] data = bytes("mississippi");
+        Path file = dir.resolve("text.bin");
+        Files.write(file, data);
+        
+        ByteSuffixArray mapped = ByteSuffixArray.map(file);
+        mapped.buildSuffixArray();
+        
+        ByteBuffer buffer = ByteBuffer.allocateDirect(data.length + 2);
+        buffer.put((byte) 'x').put(data).flip();
+        buffer.position(1);
+        ByteSuffixArray direct = new ByteSuffixArray(buffer);
+        direct.buildSuffixArray();
+        
+        assertArrayEquals(mapped.getSuffixArray(), direct.getSuffixArray());
+        assertEquals(4, mapped.count(bytes("s")));
+        List<Integer> positions = new ArrayList<>();
+        mapped.locateAll(bytes("issi"), positions::add);
+        Collections.sort(positions);
+        assertEquals(Arrays.asList(1, 4), positions);
+    }
+    
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.ISO_8859_1);
+    }
+    
+    private static int compareUnsigned(byte[] data, int a, int b) {
+        return Arrays.compareUnsigned(data, a, data.length, data, b, data.length);
+    }
+    
+    @Test
+    @DisplayName("Byte Test 5: Common prefixes across Latin-1 and UTF-16 sequences")
+    public void testByte5_MixedWidthCommonPrefix() {
+        WordSequence latin = WordSequence.pack("abcdefghijklmnopqrstuvwxyz");
+        WordSequence wide = WordSequence.pack("xyabcdefghijklmnopqrsTUV\u03b1");
+        
+        assertEquals(19, latin.commonPrefixLength(0, wide, 2, 22));
+        assertEquals(19, wide.commonPrefixLength(2, latin, 0, 22));
+        assertEquals(10, latin.commonPrefixLength(0, wide, 2, 10));
+        assertEquals(0, latin.commonPrefixLength(1, wide, 2, 20));
+        
+        // Same-width comparisons still agree with a symbol-by-symbol scan
+        WordSequence other = WordSequence.pack("abcdefghijklmnopqrstuvwxyZ");
+        assertEquals(25, latin.commonPrefixLength(0, other, 0, 26));
+    }
+}
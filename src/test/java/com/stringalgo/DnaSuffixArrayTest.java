@@ -0,0 +1,89 @@
+package com.stringalgo;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+/**
+ * Tests for the 2-bit packed DNA suffix array.
+ */
+public class DnaSuffixArrayTest {
+    
+    @Test
+    @DisplayName("DNA Test 1: Small sequence")
+    public void testDna1_Small() {
+        DnaSuffixArray sa = new DnaSuffixArray("acgtacgtNNacgt");
+        sa.buildSuffixArray();
+        sa.buildLCP();
+        
+        assertEquals(15, sa.getLength());
+        assertEquals("ACGT", sa.longestRepeatedSubstring());
+        assertEquals(3, sa.count("ACGT"));
+        assertEquals(1, sa.count("tnna"));
+        assertEquals(2, sa.count("N"));
+        assertEquals(0, sa.count("NNN"));
+        assertEquals(8, sa.search("NNACG"));
+        assertEquals(-1, sa.search("TT"));
+    }
+    
+    @Test
+    @DisplayName("DNA Test 2: Matches the String suffix array with N-runs")
+    public void testDna2_MatchesStringSuffixArray() {
+        Random rand = new Random(42);
+        StringBuilder sb = new StringBuilder();
+        while (sb.length() < 5000) {
+            if (rand.nextInt(20) == 0) {
+                sb.append("N".repeat(1 + rand.nextInt(40)));
+            } else if (rand.nextInt(10) == 0 && sb.length() > 100) {
+                // Long repeats exercise multi-word comparisons
+                int from = rand.nextInt(sb.length() - 100);
+                sb.append(sb, from, from + 100);
+            } else {
+                sb.append("ACGT".charAt(rand.nextInt(4)));
+            }
+        }
+        String text = sb.toString();
+        
+        SuffixArray expected = new SuffixArray(text);
+        expected.buildSuffixArray();
+        expected.buildLCP();
+        DnaSuffixArray actual = new DnaSuffixArray(text);
+        actual.buildSuffixArray();
+        actual.buildLCP();
+        
+        assertArrayEquals(expected.getSuffixArray(), actual.getSuffixArray());
+        assertArrayEquals(expected.getLCP(), actual.getLCP());
+        assertEquals(expected.countDistinctSubstrings(), actual.countDistinctSubstrings());
+        assertEquals(expected.longestRepeatedSubstring(), actual.longestRepeatedSubstring());
+        
+        for (int t = 0; t < 300; t++) {
+            int start = rand.nextInt(text.length());
+            int len = rand.nextInt(80);
+            String pattern = text.substring(start, Math.min(text.length(), start + len));
+            if (t % 3 == 0) {
+                pattern += "ACGTN".charAt(rand.nextInt(5));
+            }
+            assertEquals(expected.count(pattern), actual.count(pattern), pattern);
+            assertEquals(expected.search(pattern) >= 0, actual.search(pattern) >= 0, pattern);
+        }
+    }
+    
+    @Test
+    @DisplayName("DNA Test 3: Text stored at 2 bits per base")
+    public void testDna3_PackedSize() {
+        DnaSuffixArray sa = new DnaSuffixArray("ACGT".repeat(8000));
+        
+        assertTrue(sa.getTextBytes() <= 32000 / 4 + 16);
+    }
+    
+    @Test
+    @DisplayName("DNA Test 4: Non-DNA characters are rejected")
+    public void testDna4_InvalidCharacters() {
+        assertThrows(IllegalArgumentException.class, () -> new DnaSuffixArray("ACGU"));
+        
+        DnaSuffixArray sa = new DnaSuffixArray("ACGT");
+        assertThrows(IllegalArgumentException.class, () -> sa.count("A-C"));
+    }
+}
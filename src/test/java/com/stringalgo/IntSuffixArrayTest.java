@@ -0,0 +1,121 @@
+package com.stringalgo;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+/**
+ * Tests for the integer-alphabet suffix array.
+ */
+public class IntSuffixArrayTest {
+    
+    @Test
+    @DisplayName("Int Test 1: Word-level n-grams")
+    public void testInt1_WordTokens() {
+        // "to be or not to be" with to=0, be=1, or=2, not=3
+        int[] tokens = {0, 1, 2, 3, 0, 1};
+        IntSuffixArray sa = new IntSuffixArray(tokens, 4);
+        sa.buildSuffixArray();
+        sa.buildLCP();
+        
+        assertEquals(7, sa.getLength());
+        assertArrayEquals(new int[]{0, 1}, sa.longestRepeatedSubstring());
+        assertEquals(2, sa.count(new int[]{0, 1}));
+        assertEquals(1, sa.count(new int[]{1, 2}));
+        assertEquals(0, sa.count(new int[]{1, 0}));
+        assertEquals(3, sa.search(new int[]{3}));
+        assertEquals(-1, sa.search(new int[]{4}));
+        assertEquals(-1, sa.search(new int[]{-1}));
+    }
+    
+    @Test
+    @DisplayName("Int Test 2: Matches the String suffix array on small alphabets")
+    public void testInt2_MatchesStringSuffixArray() {
+        Random rand = new Random(42);
+        int[] tokens = new int[3000];
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = rand.nextInt(3);
+            sb.append((char) ('a' + tokens[i]));
+        }
+        
+        SuffixArray expected = new SuffixArray(sb.toString());
+        expected.buildSuffixArray();
+        expected.buildLCP();
+        IntSuffixArray actual = new IntSuffixArray(tokens, 3);
+        actual.buildSuffixArray();
+        actual.buildLCP();
+        
+        assertArrayEquals(expected.getSuffixArray(), actual.getSuffixArray());
+        assertArrayEquals(expected.getLCP(), actual.getLCP());
+        assertEquals(expected.countDistinctSubstrings(), actual.countDistinctSubstrings());
+        assertEquals(expected.longestRepeatedSubstring().length(),
+                    actual.longestRepeatedSubstring().length);
+    }
+    
+    @Test
+    @DisplayName("Int Test 3: Engines agree on a 50k-symbol alphabet")
+    public void testInt3_LargeAlphabet() {
+        Random rand = new Random(7);
+        int[] tokens = new int[20000];
+        for (int i = 0; i < tokens.length; i++) {
+            // Zipf-like skew so that n-grams repeat
+            tokens[i] = (int) Math.min(49999, Math.abs(rand.nextGaussian()) * 50);
+        }
+        
+        IntSuffixArray sais = new IntSuffixArray(tokens, 50000);
+        sais.buildSuffixArray();
+        IntSuffixArray radix = new IntSuffixArray(tokens, 50000, new RadixDoublingEngine());
+        radix.buildSuffixArray();
+        
+        assertArrayEquals(sais.getSuffixArray(), radix.getSuffixArray());
+        int[] pattern = Arrays.copyOfRange(tokens, 100, 103);
+        assertTrue(sais.count(pattern) >= 1);
+        List<Integer> positions = new ArrayList<>();
+        sais.locateAll(pattern, positions::add);
+        for (int pos : positions) {
+            assertArrayEquals(pattern, Arrays.copyOfRange(tokens, pos, pos + 3));
+        }
+    }
+    
+    @Test
+    @DisplayName("Int Test 4: Symbols outside the alphabet are rejected")
+    public void testInt4_InvalidSymbols() {
+        assertThrows(IllegalArgumentException.class,
+                    () -> new IntSuffixArray(new int[]{0, 5}, 5));
+        assertThrows(IllegalArgumentException.class,
+                    () -> new IntSuffixArray(new int[]{-1}, 5));
+        assertThrows(IllegalArgumentException.class,
+                    () -> new IntSuffixArray(new int[]{0}, 0));
+    }
+    
+    @Test
+    @DisplayName("Int Test 5: Patterns with symbols outside the alphabet match nothing")
+    public void testInt5_PatternOutsideAlphabet() {
+        IntSuffixArray sa = new IntSuffixArray(new int[]{3, 1, 4, 1, 4}, 5);
+        sa.buildSuffixArray();
+        for (int[] pattern : new int[][]{{5}, {1, 5}, {4, Integer.MAX_VALUE}, {-1}, {Integer.MIN_VALUE, 1}}) {
+            assertEquals(-1, sa.search(pattern), Arrays.toString(pattern));
+            assertEquals(0, sa.count(pattern), Arrays.toString(pattern));
+            assertEquals(0, sa.locateAll(pattern, p -> fail("unexpected occurrence " + p)));
+            assertEquals(0, sa.locateAll(pattern, new int[4]));
+            // The inherited SymbolSequence overloads order such patterns
+            // without overflowing, and find nothing either
+            SymbolSequence symbols = SymbolSequence.of(pattern, Integer.MAX_VALUE);
+            assertEquals(-1, sa.search(symbols), Arrays.toString(pattern));
+            assertEquals(0, sa.count(symbols), Arrays.toString(pattern));
+            assertEquals(sa.lowerBound(symbols), sa.upperBound(symbols), Arrays.toString(pattern));
+        }
+        assertEquals(sa.getSuffixArray().length,
+                    sa.lowerBound(SymbolSequence.of(new int[]{Integer.MAX_VALUE}, Integer.MAX_VALUE)));
+        assertEquals(1, sa.lowerBound(SymbolSequence.of(new int[]{-1}, Integer.MAX_VALUE)));
+        assertEquals(2, sa.count(new int[]{1, 4}));
+        int[] positions = new int[2];
+        assertEquals(2, sa.locateAll(new int[]{4}, positions));
+        Arrays.sort(positions);
+        assertArrayEquals(new int[]{2, 4}, positions);
+        assertEquals(2, sa.locateAll(new int[]{4}, p -> { }));
+    }
+}
@@ -479,6 +479,406 @@ public class SuffixArrayTest {
         testLongString("Long-25K", text);
     }
     
+    // ==================== SENTINEL TESTS ====================
+    
+    @Test
+    @DisplayName("Sentinel Test 1: '$' inside the text is ordinary data")
+    public void testSentinel1_DollarInText() {
+        String text = "a$b$";
+        SuffixArray sa = new SuffixArray(text);
+        sa.buildSuffixArray();
+        sa.buildLCP();
+        
+        assertEquals(5, sa.getLength());
+        assertEquals(text, sa.getText());
+        // "" < "$" < "$b$" < "a$b$" < "b$"
+        assertArrayEquals(new int[]{4, 3, 1, 0, 2}, sa.getSuffixArray());
+        assertArrayEquals(new int[]{0, 0, 1, 0, 0}, sa.getLCP());
+        assertEquals(2, sa.count("$"));
+        assertEquals(1, sa.search("$b"));
+        assertEquals("$", sa.longestRepeatedSubstring());
+    }
+    
+    @Test
+    @DisplayName("Sentinel Test 2: Text ending with '$' still gets a sentinel")
+    public void testSentinel2_TrailingDollar() {
+        SuffixArray sa = new SuffixArray("ab$");
+        sa.buildSuffixArray();
+        
+        assertEquals(4, sa.getLength());
+        assertEquals(3, sa.getSuffixArray()[0]);
+        assertEquals(2, sa.search("$"));
+        assertEquals(-1, sa.search("$$"));
+    }
+    
+    @Test
+    @DisplayName("Sentinel Test 3: Characters below '$' sort after the sentinel")
+    public void testSentinel3_LowCharacters() {
+        SuffixArray sa = new SuffixArray("b a");
+        sa.buildSuffixArray();
+        
+        // "" < " a" < "a" < "b a"
+        assertArrayEquals(new int[]{3, 1, 2, 0}, sa.getSuffixArray());
+    }
+    
+    // ==================== ENGINE TESTS ====================
+    
+    @Test
+    @DisplayName("Engine Test 1: SA-IS matches prefix doubling on 'banana'")
+    public void testEngine1_SaisBanana() {
+        SuffixArray sa = new SuffixArray("banana", new SaisEngine());
+        sa.buildSuffixArray();
+        sa.buildLCP();
+        
+        assertArrayEquals(new int[]{6, 5, 3, 1, 0, 4, 2}, sa.getSuffixArray());
+        assertArrayEquals(new int[]{0, 0, 1, 3, 0, 0, 2}, sa.getLCP());
+    }
+    
+    @Test
+    @DisplayName("Engine Test 2: SA-IS matches prefix doubling on varied inputs")
+    public void testEngine2_SaisMatchesDoubling() {
+        String[] texts = {
+            "", "a", "aaa", "mississippi", "abcabc",
+            "a b$c", // characters below '$' and an inner '$'
+            generateFibonacciString(15),
+            "ACGT".repeat(500),
+            generateRandomString(5000, "01"),
+            generateRandomString(8000, "ABCDEFGHIJKLMNOPQRSTUVWXYZ")
+        };
+        
+        for (String text : texts) {
+            assertSameSuffixArray(text, new SaisEngine());
+        }
+    }
+    
+    @Test
+    @DisplayName("Engine Test 3: Radix doubling matches prefix doubling")
+    public void testEngine3_RadixDoublingMatchesDoubling() {
+        String[] texts = {
+            "", "a", "aaa", "banana", "mississippi",
+            "a b$c",
+            "a".repeat(3000),
+            generateFibonacciString(15),
+            generateRandomString(5000, "ACGT"),
+            generateRandomString(8000, "ABCDEFGHIJKLMNOPQRSTUVWXYZ")
+        };
+        
+        for (String text : texts) {
+            assertSameSuffixArray(text, new RadixDoublingEngine());
+        }
+    }
+    
+    @Test
+    @DisplayName("Engine Test 4: Parallel doubling matches prefix doubling")
+    public void testEngine4_ParallelDoublingMatchesDoubling() {
+        String[] texts = {
+            "", "a", "banana", "mississippi",
+            "a".repeat(3000),
+            generateFibonacciString(15),
+            generateRandomString(5000, "ACGT"),
+            generateRandomString(8000, "ABCDEFGHIJKLMNOPQRSTUVWXYZ"),
+            // Symbols far above n, whose low 11 bits order differently
+            generateRandomString(300, "\u47fe\u4dfe\u4e00\u4e01\u9fa5")
+        };
+        
+        java.util.concurrent.ForkJoinPool pool = new java.util.concurrent.ForkJoinPool(4);
+        try {
+            for (String text : texts) {
+                // Small blocks force the parallel path on short inputs
+                assertSameSuffixArray(text, new ParallelDoublingEngine(pool, 64));
+            }
+            
+            Random rand = new Random(7);
+            int[] symbols = new int[5000];
+            for (int i = 0; i < symbols.length; i++) {
+                symbols[i] = (1 << 24) - 1 - rand.nextInt(64);
+            }
+            IntSuffixArray expected = new IntSuffixArray(symbols, 1 << 24);
+            expected.buildSuffixArray();
+            IntSuffixArray actual = new IntSuffixArray(symbols, 1 << 24, new ParallelDoublingEngine(pool, 64));
+            actual.buildSuffixArray();
+            assertArrayEquals(expected.getSuffixArray(), actual.getSuffixArray());
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    // ==================== LCP BUILDER TESTS ====================
+    
+    @Test
+    @DisplayName("LCP Test 1: Phi builder matches Kasai on 'banana'")
+    public void testLcp1_PhiBanana() {
+        SuffixArray sa = new SuffixArray("banana");
+        sa.buildSuffixArray();
+        sa.buildLCP(new PhiLcpBuilder());
+        
+        assertArrayEquals(new int[]{0, 0, 1, 3, 0, 0, 2}, sa.getLCP());
+    }
+    
+    @Test
+    @DisplayName("LCP Test 2: All builders and rank-reuse modes match Kasai")
+    public void testLcp2_BuildersMatchKasai() {
+        String[] texts = {
+            "", "a", "aaa", "mississippi",
+            "a".repeat(2000),
+            generateFibonacciString(15),
+            generateRandomString(5000, "ACGT"),
+            generateRandomString(8000, "ABCDEFGHIJKLMNOPQRSTUVWXYZ")
+        };
+        LcpBuilder[] builders = {
+            new KasaiLcpBuilder(true), new PhiLcpBuilder(), new PhiLcpBuilder(true)
+        };
+        
+        for (String text : texts) {
+            for (LcpBuilder builder : builders) {
+                assertSameLCP(text, builder);
+            }
+        }
+    }
+    
+    @Test
+    @DisplayName("LCP Test 3: Rebuilding after the rank buffer was consumed")
+    public void testLcp3_RebuildAfterRankReuse() {
+        SuffixArray sa = new SuffixArray("mississippi");
+        sa.buildSuffixArray();
+        sa.buildLCP(new PhiLcpBuilder(true));
+        int[] expected = sa.getLCP().clone();
+        
+        sa.buildLCP(new KasaiLcpBuilder(true));
+        assertArrayEquals(expected, sa.getLCP());
+        
+        sa.buildSuffixArray();
+        sa.buildLCP(new KasaiLcpBuilder(true));
+        assertArrayEquals(expected, sa.getLCP());
+    }
+    
+    @Test
+    @DisplayName("LCP Test 4: Parallel builder matches Kasai")
+    public void testLcp4_ParallelMatchesKasai() {
+        String[] texts = {
+            "", "a", "banana", "mississippi",
+            "a".repeat(2000),
+            generateFibonacciString(15),
+            generateRandomString(5000, "ACGT"),
+            generateRandomString(8000, "ABCDEFGHIJKLMNOPQRSTUVWXYZ")
+        };
+        
+        java.util.concurrent.ForkJoinPool pool = new java.util.concurrent.ForkJoinPool(4);
+        try {
+            for (String text : texts) {
+                // Small blocks force many block boundaries on short inputs
+                assertSameLCP(text, new ParallelLcpBuilder(pool, 16, false));
+                assertSameLCP(text, new ParallelLcpBuilder(pool, 16, true));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    @Test
+    @DisplayName("LCP Test 5: Rank buffer is released once the LCP array is built")
+    public void testLcp5_RankReleased() {
+        String text = generateRandomString(10000, "ABCDEFGHIJKLMNOPQRSTUVWXYZ");
+        SuffixArray sa = new SuffixArray(text, new SaisEngine());
+        sa.buildSuffixArray();
+        
+        // Latin-1 text (1 byte/char) + SA + rank
+        assertEquals(10000 + 2 * 4L * 10001, sa.getRetainedBytes());
+        
+        sa.buildLCP();
+        assertEquals(10000 + 2 * 4L * 10001, sa.getRetainedBytes());
+        assertEquals(9.0, sa.getRetainedBytesPerChar(), 0.01); // text + SA + LCP
+        assertEquals(text.contains("QRS"), sa.search("QRS") >= 0);
+        
+        SuffixArray compacted = new SuffixArray(text, new SaisEngine());
+        compacted.buildSuffixArray();
+        compacted.compact();
+        assertArrayEquals(sa.getLCP(), compacted.getLCP());
+        assertEquals(sa.getRetainedBytes(), compacted.getRetainedBytes());
+    }
+    
+    // ==================== SEARCH TESTS ====================
+    
+    @Test
+    @DisplayName("Search Test 1: LCP-LR search matches plain search")
+    public void testSearch1_LcpLRMatchesPlain() {
+        String[] texts = {
+            "a", "banana", "mississippi",
+            "a".repeat(500),
+            generateFibonacciString(12),
+            generateRandomString(3000, "ACGT")
+        };
+        
+        for (String text : texts) {
+            SuffixArray plain = new SuffixArray(text);
+            plain.buildSuffixArray();
+            SuffixArray accelerated = new SuffixArray(text);
+            accelerated.buildSuffixArray();
+            accelerated.buildLcpLR();
+            
+            for (String pattern : samplePatterns(text)) {
+                assertEquals(plain.search(pattern), accelerated.search(pattern),
+                            "Search mismatch for pattern \"" + pattern + "\"");
+            }
+        }
+    }
+    
+    @Test
+    @DisplayName("Search Test 2: CharSequence patterns match String patterns")
+    public void testSearch2_CharSequencePatterns() {
+        String text = generateRandomString(3000, "ACGT");
+        SuffixArray sa = new SuffixArray(text);
+        sa.buildSuffixArray();
+        
+        String indexed = sa.getText();
+        StringBuilder buffer = new StringBuilder();
+        for (String pattern : samplePatterns(text)) {
+            int expected = indexed.indexOf(pattern) >= 0 ? 0 : -1;
+            buffer.setLength(0);
+            buffer.append(pattern);
+            
+            int pos = sa.search(buffer);
+            assertEquals(sa.search(pattern), pos);
+            assertEquals(expected, Math.min(pos, 0), "Pattern \"" + pattern + "\"");
+            if (pos >= 0) {
+                assertTrue(indexed.startsWith(pattern, pos));
+            }
+        }
+    }
+    
+    @Test
+    @DisplayName("Search Test 3: count() and locateAll() on 'banana'")
+    public void testSearch3_CountAndLocateBanana() {
+        SuffixArray sa = new SuffixArray("banana");
+        sa.buildSuffixArray();
+        
+        assertEquals(3, sa.count("a"));
+        assertEquals(2, sa.count("ana"));
+        assertEquals(0, sa.count("nab"));
+        assertEquals(7, sa.count(""));
+        
+        int[] positions = new int[2];
+        assertEquals(2, sa.locateAll("ana", positions));
+        assertArrayEquals(new int[]{3, 1}, positions);
+        assertEquals(2, sa.upperBound("ana") - sa.lowerBound("ana"));
+        
+        List<Integer> seen = new ArrayList<>();
+        assertEquals(3, sa.locateAll("a", seen::add));
+        assertEquals(Arrays.asList(5, 3, 1), seen);
+    }
+    
+    @Test
+    @DisplayName("Search Test 4: count() matches naive scan, with and without LCP-LR")
+    public void testSearch4_CountMatchesNaive() {
+        String text = generateFibonacciString(14);
+        SuffixArray plain = new SuffixArray(text);
+        plain.buildSuffixArray();
+        SuffixArray accelerated = new SuffixArray(text);
+        accelerated.buildSuffixArray();
+        accelerated.buildLcpLR();
+        String indexed = plain.getText();
+        
+        for (String pattern : samplePatterns(text)) {
+            int expected = 0;
+            for (int i = 0; i <= indexed.length(); i++) {
+                if (indexed.startsWith(pattern, i)) {
+                    expected++;
+                }
+            }
+            assertEquals(expected, plain.count(pattern), "Pattern \"" + pattern + "\"");
+            assertEquals(expected, accelerated.count(pattern), "Pattern \"" + pattern + "\"");
+            
+            int[] positions = new int[expected];
+            accelerated.locateAll(pattern, positions);
+            for (int pos : positions) {
+                assertTrue(indexed.startsWith(pattern, pos));
+            }
+        }
+    }
+    
+    @Test
+    @DisplayName("Search Test 5: searchBatch() matches individual searches")
+    public void testSearch5_BatchMatchesSearch() {
+        String text = generateRandomString(4000, "ACGT");
+        SuffixArray sa = new SuffixArray(text);
+        sa.buildSuffixArray();
+        
+        List<String> patterns = samplePatterns(text);
+        // All 3-mers, which share prefixes heavily once sorted
+        for (char a : "ACGT".toCharArray()) {
+            for (char b : "ACGT".toCharArray()) {
+                for (char c : "ACGTN".toCharArray()) {
+                    patterns.add("" + a + b + c);
+                }
+            }
+        }
+        patterns.add("ACG");
+        patterns.add("ACG");
+        Collections.shuffle(patterns, new Random(3));
+        
+        int[] results = sa.searchBatch(patterns.toArray(new CharSequence[0]));
+        for (int i = 0; i < patterns.size(); i++) {
+            assertEquals(sa.search(patterns.get(i)), results[i],
+                        "Pattern \"" + patterns.get(i) + "\"");
+        }
+        assertEquals(0, sa.searchBatch(new CharSequence[0]).length);
+    }
+    
+    @Test
+    @DisplayName("Search Test 6: q-gram bucket index matches plain search")
+    public void testSearch6_QGramIndex() {
+        String[] texts = {
+            "banana", "mississippi",
+            generateFibonacciString(12),
+            generateRandomString(3000, "ACGT")
+        };
+        
+        for (String text : texts) {
+            SuffixArray plain = new SuffixArray(text);
+            plain.buildSuffixArray();
+            
+            for (int q = 1; q <= 4; q++) {
+                SuffixArray bucketed = new SuffixArray(text);
+                bucketed.buildSuffixArray();
+                bucketed.buildQGramIndex(q);
+                assertTrue(bucketed.getQGramIndexBytes() > 0);
+                
+                for (String pattern : samplePatterns(text)) {
+                    assertEquals(plain.search(pattern), bucketed.search(pattern),
+                                "q=" + q + " pattern \"" + pattern + "\"");
+                    assertEquals(plain.count(pattern), bucketed.count(pattern),
+                                "q=" + q + " pattern \"" + pattern + "\"");
+                }
+            }
+        }
+    }
+    
+    @Test
+    @DisplayName("Search Test 7: q-gram index respects its memory budget")
+    public void testSearch7_QGramBudget() {
+        SuffixArray sa = new SuffixArray(generateRandomString(2000, "ACGT"));
+        sa.buildSuffixArray();
+        
+        // ACGT: 4^6 + 1 ints fit in 17000 bytes, 4^7 + 1 do not
+        int q = sa.buildQGramIndexWithin(17000);
+        assertEquals(6, q);
+        assertTrue(sa.getQGramIndexBytes() <= 17000 + 4 * 128);
+        
+        assertEquals(0, sa.buildQGramIndexWithin(4));
+        assertEquals(0, sa.getQGramIndexBytes());
+        assertThrows(IllegalArgumentException.class, () -> sa.buildQGramIndex(0));
+        assertThrows(IllegalArgumentException.class, () -> sa.buildQGramIndex(2001));
+        assertThrows(IllegalArgumentException.class, () -> sa.buildQGramIndex(Integer.MAX_VALUE));
+        
+        // A one-letter alphabet keeps the table at one bucket for any q
+        SuffixArray unary = new SuffixArray("aaaa");
+        unary.buildSuffixArray();
+        assertThrows(IllegalArgumentException.class, () -> unary.buildQGramIndex(1 << 30));
+        unary.buildQGramIndex(4);
+        assertEquals(1, unary.count("aaaa"));
+        assertEquals(2, unary.count("aaa"));
+    }
+    
     // ==================== HELPER METHODS ====================
     
     private void testLongString(String name, String text) {
@@ -518,6 +918,50 @@ public class SuffixArrayTest {
                          name, totalTime / 1000, saOnlyTime / 1000, lcpOnlyTime / 1000);
     }
     
+    private void assertSameSuffixArray(String text, SuffixArrayEngine engine) {
+        SuffixArray expected = new SuffixArray(text);
+        expected.buildSuffixArray();
+        SuffixArray actual = new SuffixArray(text, engine);
+        actual.buildSuffixArray();
+        
+        assertArrayEquals(expected.getSuffixArray(), actual.getSuffixArray(),
+                         "SA mismatch for input of length " + text.length());
+    }
+    
+    private void assertSameLCP(String text, LcpBuilder builder) {
+        SuffixArray expected = new SuffixArray(text);
+        expected.buildSuffixArray();
+        expected.buildLCP();
+        SuffixArray actual = new SuffixArray(text);
+        actual.buildSuffixArray();
+        actual.buildLCP(builder);
+        
+        assertArrayEquals(expected.getLCP(), actual.getLCP(),
+                         "LCP mismatch for input of length " + text.length());
+    }
+    
+    /**
+     * Substrings of the text plus patterns that are absent, run past the
+     * end, or are empty.
+     */
+    private List<String> samplePatterns(String text) {
+        List<String> patterns = new ArrayList<>();
+        Random rand = new Random(7);
+        patterns.add("");
+        patterns.add("zzz");
+        patterns.add(text + "a");
+        patterns.add(text + "$");
+        for (int i = 0; i < 200; i++) {
+            int start = rand.nextInt(text.length());
+            int end = start + 1 + rand.nextInt(Math.min(20, text.length() - start));
+            String pattern = text.substring(start, end);
+            patterns.add(pattern);
+            patterns.add(pattern + "A");
+            patterns.add(pattern + "z");
+        }
+        return patterns;
+    }
+    
     private void recordPerformance(String name, int length, long totalTime) {
         recordPerformance(name, length, totalTime, 0, 0, 0);
     }
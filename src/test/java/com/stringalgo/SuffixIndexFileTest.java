@@ -0,0 +1,99 @@
+package com.stringalgo;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Tests for saving an index to disk and loading it by memory-mapping.
+ */
+public class SuffixIndexFileTest {
+    
+    @Test
+    @DisplayName("File Test 1: Loaded index matches the saved suffix array")
+    public void testFile1_RoundTrip(@TempDir Path dir) throws Exception {
+        String text = TextGenerator.naturalLanguage(20000, 5);
+        SuffixArray sa = new SuffixArray(text, new SaisEngine());
+        sa.buildSuffixArray();
+        sa.buildLCP();
+        Path file = dir.resolve("index.sa");
+        SuffixIndexFile.save(sa, file);
+        
+        SuffixIndex loaded = SuffixIndexFile.load(file, true);
+        assertEquals(text, loaded.getText().toString());
+        assertArrayEquals(sa.getSuffixArray(), loaded.copySuffixArray());
+        assertArrayEquals(sa.getLCP(), loaded.copyLCP());
+        assertEquals(sa.countDistinctSubstrings(), loaded.countDistinctSubstrings());
+        assertEquals(sa.longestRepeatedSubstring(), loaded.longestRepeatedSubstring());
+        for (String pattern : new String[]{"the ", "suffix", "zzz", "", "e"}) {
+            assertEquals(sa.count(pattern), loaded.count(pattern), pattern);
+            assertEquals(sa.lowerBound(pattern), loaded.lowerBound(pattern), pattern);
+        }
+        assertEquals(0, loaded.getRetainedBytes());
+    }
+    
+    @Test
+    @DisplayName("File Test 2: UTF-16 and empty texts, saved from an index")
+    public void testFile2_Encodings(@TempDir Path dir) throws Exception {
+        for (String text : new String[]{"日本語の日本", "", "a", "mississippi"}) {
+            SuffixIndex index = SuffixIndex.builder(text).build();
+            Path file = dir.resolve("index.sa");
+            SuffixIndexFile.save(index, file);
+            
+            SuffixIndex loaded = SuffixIndexFile.load(file);
+            assertEquals(text, loaded.getText().toString());
+            assertArrayEquals(index.copySuffixArray(), loaded.copySuffixArray());
+            assertArrayEquals(index.copyLCP(), loaded.copyLCP());
+            assertEquals(index.longestRepeatedSubstring(), loaded.longestRepeatedSubstring());
+            assertEquals(index.count("日本"), loaded.count("日本"));
+            assertEquals(index.count("ssi"), loaded.count("ssi"));
+        }
+    }
+    
+    @Test
+    @DisplayName("File Test 3: Corrupt, truncated and foreign files are rejected")
+    public void testFile3_Corruption(@TempDir Path dir) throws Exception {
+        SuffixArray sa = new SuffixArray("abracadabra");
+        sa.buildSuffixArray();
+        assertThrows(IllegalStateException.class, () -> SuffixIndexFile.save(sa, dir.resolve("x")));
+        sa.buildLCP();
+        Path file = dir.resolve("index.sa");
+        SuffixIndexFile.save(sa, file);
+        
+        // Flip one byte of the suffix array section, which follows the
+        // 128-byte header and the 11 text bytes padded to 16
+        byte[] original = Files.readAllBytes(file);
+        byte[] bytes = original.clone();
+        bytes[150] ^= 1;
+        Files.write(file, bytes);
+        assertNotNull(SuffixIndexFile.load(file));
+        IOException e = assertThrows(IOException.class, () -> SuffixIndexFile.load(file, true));
+        assertTrue(e.getMessage().contains("suffix array"), e.getMessage());
+        
+        // Corrupt the header, or a future version
+        bytes = original.clone();
+        bytes[20] ^= 1;
+        Files.write(file, bytes);
+        assertThrows(IOException.class, () -> SuffixIndexFile.load(file));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(original));
+            channel.write(ByteBuffer.wrap(new byte[]{2}), 8);
+        }
+        e = assertThrows(IOException.class, () -> SuffixIndexFile.load(file));
+        assertTrue(e.getMessage().contains("version 2"), e.getMessage());
+        
+        Files.write(file, Arrays.copyOf(original, original.length - 4));
+        assertThrows(IOException.class, () -> SuffixIndexFile.load(file));
+        Files.write(file, "not an index".getBytes());
+        assertThrows(IOException.class, () -> SuffixIndexFile.load(file));
+    }
+}
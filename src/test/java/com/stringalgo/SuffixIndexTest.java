@@ -0,0 +1,218 @@
+package com.stringalgo;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Tests for the immutable, thread-safe suffix index.
+ */
+public class SuffixIndexTest {
+    
+    @Test
+    @DisplayName("Index Test 1: Matches SuffixArray with every option")
+    public void testIndex1_MatchesSuffixArray() {
+        String text = TextGenerator.dna(5000, 7);
+        SuffixArray expected = new SuffixArray(text);
+        expected.buildSuffixArray();
+        expected.buildLCP();
+        
+        SuffixIndex[] indexes = {
+            SuffixIndex.builder(text).build(),
+            SuffixIndex.builder(text).engine(new RadixDoublingEngine())
+                .lcpBuilder(new PhiLcpBuilder(true)).lcpLR(true).build(),
+            SuffixIndex.builder(text).qGramIndex(4).build(),
+            SuffixIndex.builder(text).lcpLR(true).qGramIndexWithin(1 << 16).build(),
+            SuffixIndex.builder(text).packTextForLcp(true).build()
+        };
+        
+        for (SuffixIndex index : indexes) {
+            assertArrayEquals(expected.getSuffixArray(), index.copySuffixArray());
+            assertArrayEquals(expected.getLCP(), index.copyLCP());
+            assertEquals(expected.countDistinctSubstrings(), index.countDistinctSubstrings());
+            assertEquals(expected.longestRepeatedSubstring(), index.longestRepeatedSubstring());
+            for (String pattern : new String[]{"ACG", "TTTT", "GATTACA", "", "N"}) {
+                assertEquals(expected.count(pattern), index.count(pattern), pattern);
+                assertEquals(expected.search(pattern) >= 0, index.search(pattern) >= 0, pattern);
+            }
+        }
+    }
+    
+    @Test
+    @DisplayName("Index Test 2: Arrays are exposed read-only or as copies")
+    public void testIndex2_ReadOnlyViews() {
+        SuffixIndex index = SuffixIndex.builder("banana").build();
+        
+        IntArray sa = index.suffixArray();
+        assertEquals(7, sa.length());
+        assertEquals(6, sa.get(0));
+        assertEquals(3, index.lcpAt(3));
+        assertEquals(1, index.suffixAt(3));
+        assertEquals(3, index.lcp().get(3));
+        
+        int[] copy = index.copySuffixArray();
+        copy[0] = 42;
+        assertEquals(6, index.suffixAt(0));
+        sa.toArray()[0] = 42;
+        assertEquals(6, sa.get(0));
+        assertEquals("ana", index.longestRepeatedSubstring());
+        assertEquals(22, index.countDistinctSubstrings());
+    }
+    
+    @Test
+    @DisplayName("Index Test 3: Concurrent queries from many threads")
+    public void testIndex3_ConcurrentQueries() throws Exception {
+        String text = TextGenerator.naturalLanguage(20000, 3);
+        SuffixIndex index = SuffixIndex.builder(text).lcpLR(true).qGramIndex(2).build();
+        
+        String[] patterns = {"the ", "array", "suffix", "of the", "zz", "e", "sort."};
+        int[] expected = new int[patterns.length];
+        for (int p = 0; p < patterns.length; p++) {
+            int count = 0;
+            for (int i = text.indexOf(patterns[p]); i >= 0; i = text.indexOf(patterns[p], i + 1)) {
+                count++;
+            }
+            expected[p] = count;
+        }
+        
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < 64; t++) {
+                final int offset = t;
+                results.add(pool.submit(() -> {
+                    for (int r = 0; r < 200; r++) {
+                        int p = (offset + r) % patterns.length;
+                        if (index.count(patterns[p]) != expected[p]) {
+                            return false;
+                        }
+                        int pos = index.search(patterns[p]);
+                        if (expected[p] > 0 && !text.startsWith(patterns[p], pos)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    @Test
+    @DisplayName("Index Test 4: Off-heap arrays give the same results")
+    public void testIndex4_OffHeap() {
+        String text = TextGenerator.fibonacci(10000);
+        SuffixIndex heap = SuffixIndex.builder(text).build();
+        SuffixIndex offHeap = SuffixIndex.builder(text).offHeap(true).build();
+        SuffixIndex offHeapLR = SuffixIndex.builder(text).offHeap(true).lcpLR(true).build();
+        
+        assertArrayEquals(heap.copySuffixArray(), offHeap.copySuffixArray());
+        assertArrayEquals(heap.copyLCP(), offHeap.copyLCP());
+        assertEquals(heap.longestRepeatedSubstring(), offHeap.longestRepeatedSubstring());
+        for (String pattern : new String[]{"abaab", "bb", "aaa", "a"}) {
+            assertEquals(heap.count(pattern), offHeap.count(pattern), pattern);
+            assertEquals(heap.count(pattern), offHeapLR.count(pattern), pattern);
+        }
+        assertEquals(2L * text.length() * Integer.BYTES + 8, offHeap.getOffHeapBytes());
+        assertEquals(0, heap.getOffHeapBytes());
+        assertEquals(text.length(), offHeap.getRetainedBytes()); // only the Latin-1 text
+    }
+    
+    @Test
+    @DisplayName("Index Test 5: Off-heap copies read back every entry")
+    public void testIndex5_OffHeapCopy() {
+        int[] values = new int[1000];
+        Arrays.setAll(values, i -> 1000 - i);
+        OffHeapArray array = OffHeapArray.copyOf(values);
+        assertEquals(1000, array.length());
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(values[i], array.get(i));
+        }
+        assertEquals(4000, array.memoryBytes());
+        assertArrayEquals(values, array.toArray());
+        assertEquals(0, OffHeapArray.copyOf(new int[0]).length());
+    }
+    
+    @Test
+    @DisplayName("Index Test 6: Packed suffix array at ceil(log2 n) bits per entry")
+    public void testIndex6_PackedSuffixArray() {
+        String text = TextGenerator.dna(100000, 11);
+        SuffixIndex plain = SuffixIndex.builder(text).build();
+        for (LcpBuilder lcpBuilder : new LcpBuilder[]{
+                new KasaiLcpBuilder(true), new KasaiLcpBuilder(), new PhiLcpBuilder(true),
+                new ParallelLcpBuilder(ForkJoinPool.commonPool(), 4096, false)}) {
+            SuffixIndex packed = SuffixIndex.builder(text).packedSuffixArray(true)
+                .lcpBuilder(lcpBuilder).lcpLR(true).build();
+            assertArrayEquals(plain.copySuffixArray(), packed.copySuffixArray());
+            assertArrayEquals(plain.copyLCP(), packed.copyLCP());
+            assertEquals(plain.countDistinctSubstrings(), packed.countDistinctSubstrings());
+            for (String pattern : new String[]{"ACGT", "GATTACA", "TTTTTTTT", "C"}) {
+                assertEquals(plain.count(pattern), packed.count(pattern), pattern);
+            }
+        }
+        
+        // 100001 entries need 17 bits instead of 32
+        long saved = (long) text.length() * (32 - 17) / 8;
+        SuffixIndex packed = SuffixIndex.builder(text).packedSuffixArray(true).build();
+        assertEquals(plain.getRetainedBytes() - saved, packed.getRetainedBytes(), 16);
+        
+        // Permutations of [0, n) at widths that straddle words
+        Random random = new Random(5);
+        for (int n : new int[]{1, 2, 100, 129, 5000}) {
+            int[] values = new int[n];
+            Arrays.setAll(values, i -> i);
+            for (int i = n - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int t = values[i];
+                values[i] = values[j];
+                values[j] = t;
+            }
+            PackedIntArray array = PackedIntArray.ofSuffixArray(values);
+            assertEquals(PackedIntArray.bitsFor(Math.max(0, n - 1)), array.bitsPerEntry());
+            assertArrayEquals(values, array.toArray(), "n=" + n);
+        }
+        assertEquals(17, PackedIntArray.ofSuffixArray(plain.copySuffixArray()).bitsPerEntry());
+        assertEquals(1, PackedIntArray.bitsFor(0));
+        assertEquals(8, PackedIntArray.bitsFor(128));
+        assertEquals(31, PackedIntArray.bitsFor(Integer.MAX_VALUE));
+    }
+    
+    @Test
+    @DisplayName("Index Test 7: Compact LCP with byte entries and overflow table")
+    public void testIndex7_CompactLCP() {
+        // Natural language has few LCPs of 255 or more; the periodic text
+        // overflows on almost every entry
+        for (String text : new String[]{TextGenerator.naturalLanguage(50000, 9),
+                                        TextGenerator.periodic(3000, 7, 4, 1)}) {
+            SuffixIndex plain = SuffixIndex.builder(text).lcpLR(true).build();
+            SuffixIndex compact = SuffixIndex.builder(text).compactLCP(true).lcpLR(true).build();
+            
+            assertArrayEquals(plain.copyLCP(), compact.copyLCP());
+            assertEquals(plain.countDistinctSubstrings(), compact.countDistinctSubstrings());
+            assertEquals(plain.longestRepeatedSubstring(), compact.longestRepeatedSubstring());
+            for (String pattern : new String[]{"the ", "e", text.substring(100, 400), "qqq"}) {
+                assertEquals(plain.count(pattern), compact.count(pattern));
+                assertEquals(plain.lowerBound(pattern), compact.lowerBound(pattern));
+            }
+        }
+        
+        int[] lcp = {0, 3, 254, 255, 1000, 0, 70000, 255};
+        CompactLcpArray array = CompactLcpArray.of(lcp);
+        assertArrayEquals(lcp, array.toArray());
+        assertEquals(4, array.overflowCount());
+        assertEquals(8 + 4 * 8, array.memoryBytes());
+        
+        // LCP drops from 4 to about 1 byte per character, LCP-LR from 8 to about 2
+        String text = TextGenerator.naturalLanguage(50000, 9);
+        long plainBytes = SuffixIndex.builder(text).lcpLR(true).build().getRetainedBytes();
+        long compactBytes = SuffixIndex.builder(text).compactLCP(true).lcpLR(true).build().getRetainedBytes();
+        assertTrue(plainBytes - compactBytes > 8L * text.length(), plainBytes + " vs " + compactBytes);
+    }
+}
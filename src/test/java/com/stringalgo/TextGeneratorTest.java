@@ -0,0 +1,51 @@
+package com.stringalgo;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+/**
+ * Tests for the benchmark text generators.
+ */
+public class TextGeneratorTest {
+    
+    @Test
+    @DisplayName("Generator Test 1: de Bruijn sequence contains every k-gram once")
+    public void testGenerator1_DeBruijn() {
+        // B(3, 4) has 81 characters; read cyclically every 4-gram occurs once
+        String s = TextGenerator.deBruijn(81, 3);
+        String cyclic = s + s.substring(0, 3);
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i < 81; i++) {
+            grams.add(cyclic.substring(i, i + 4));
+        }
+        
+        assertEquals(81, grams.size());
+        assertEquals(100, TextGenerator.deBruijn(100, 3).length());
+    }
+    
+    @Test
+    @DisplayName("Generator Test 2: Thue-Morse and Fibonacci prefixes")
+    public void testGenerator2_Words() {
+        assertEquals("ABBABAABBAABABBA", TextGenerator.thueMorse(16));
+        assertEquals("BABBABAB", TextGenerator.fibonacci(8));
+        assertEquals("aaaa", TextGenerator.unary(4, 'a'));
+    }
+    
+    @Test
+    @DisplayName("Generator Test 3: Synthetic corpus has one text per family")
+    public void testGenerator3_SyntheticCorpus() {
+        List<BenchmarkCorpus.Entry> corpus = BenchmarkCorpus.synthetic(1000);
+        Set<String> names = new HashSet<>();
+        for (BenchmarkCorpus.Entry entry : corpus) {
+            assertEquals(1000, entry.text.length(), entry.name);
+            names.add(entry.name);
+        }
+        
+        assertEquals(corpus.size(), names.size());
+        assertTrue(names.contains("fibonacci"));
+        assertTrue(names.contains("de-bruijn-4"));
+    }
+}